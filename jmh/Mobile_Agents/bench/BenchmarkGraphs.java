@@ -0,0 +1,56 @@
+package Mobile_Agents.bench;
+
+import Mobile_Agents.generator.Generator;
+import Mobile_Agents.generator.TopologyGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Class: BenchmarkGraphs
+ * Description: Resolves the graph parameter of a JMH benchmark. A parameter
+ *              is a config file, relative to the directory the benchmarks run
+ *              in, or TYPE:N for a synthetic TopologyGenerator graph of about
+ *              N nodes written to a temporary file, the station in its first
+ *              node and the fire in its last.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+final class BenchmarkGraphs {
+    private static final int DEGREE = 4;
+    private static final long SEED = 1;
+
+    private BenchmarkGraphs() {
+    }
+
+    /**
+     * Gets the config file of a graph parameter, writing it if synthetic
+     * @param graph config file or TYPE:N
+     * @return config file
+     * @throws IOException if the graph cannot be written
+     */
+    static Path resolve(String graph) throws IOException {
+        int colon = graph.indexOf(':');
+        if (colon < 0) {
+            return Paths.get(graph);
+        }
+        Generator generator = TopologyGenerator.create(graph.substring(0, colon),
+                Integer.parseInt(graph.substring(colon + 1)), DEGREE, SEED);
+        Path file = Files.createTempFile("bench-" + graph.substring(0, colon), ".txt");
+        TopologyGenerator.write(generator, new int[]{0}, generator.size() - 1, file);
+        return file;
+    }
+
+    /**
+     * Deletes the file of a synthetic graph parameter
+     * @param graph config file or TYPE:N
+     * @param file file resolve returned
+     * @throws IOException if the file cannot be deleted
+     */
+    static void release(String graph, Path file) throws IOException {
+        if (graph.indexOf(':') >= 0) {
+            Files.deleteIfExists(file);
+        }
+    }
+}
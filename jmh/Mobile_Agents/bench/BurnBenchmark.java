@@ -0,0 +1,95 @@
+package Mobile_Agents.bench;
+
+import Mobile_Agents.SensorNetwork;
+import Mobile_Agents.reader.ConfigReader;
+import Mobile_Agents.runtime.DiscreteEventExecutor;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class: BurnBenchmark
+ * Description: JMH benchmark of a whole simulation, from ignition until every
+ *              node has burned, on the discrete event executor. The score is
+ *              the time to a full burn, the messages counter divided by that
+ *              time is the message throughput. Loading the config is done
+ *              before each invocation and not timed.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BurnBenchmark {
+    private static final long HORIZON_MILLIS = 24L * 3_600_000;
+    private static final long LATENCY_MILLIS = 10;
+
+    @Param({"graphs/sample.txt", "graphs/big_big_graph.txt", "graphs/map.txt",
+            "grid:10000", "knn:100000"})
+    public String graph;
+
+    private Path file;
+    private ConfigReader configReader;
+    private DiscreteEventExecutor executor;
+
+    /**
+     * Messages processed by the nodes, reported next to the score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Messages {
+        public long messages;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = BenchmarkGraphs.resolve(graph);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkGraphs.release(graph, file);
+    }
+
+    @Setup(Level.Invocation)
+    public void load() {
+        configReader = new ConfigReader(file.toString(), new Random(0));
+        executor = new DiscreteEventExecutor(0, LATENCY_MILLIS);
+        SensorNetwork network = configReader.getNetwork();
+        for (int id = 0; id < network.size(); id++) {
+            network.node(id).start(executor);
+        }
+    }
+
+    @Benchmark
+    public long burn(Messages counter) {
+        configReader.ignite();
+        configReader.dispatch();
+        executor.run(HORIZON_MILLIS);
+        SensorNetwork network = configReader.getNetwork();
+        long messages = 0;
+        for (int id = 0; id < network.size(); id++) {
+            messages += network.node(id).getMessagesReceived();
+        }
+        counter.messages += messages;
+        return messages;
+    }
+}
@@ -0,0 +1,80 @@
+package Mobile_Agents.bench;
+
+import Mobile_Agents.graph.Adjacency;
+import Mobile_Agents.graph.ChannelBuilder;
+import Mobile_Agents.reader.ConfigReader;
+import Mobile_Agents.reader.GraphFile;
+import Mobile_Agents.reader.GraphParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class: LoadBenchmark
+ * Description: JMH benchmark of loading a config: parsing it, building the
+ *              channels from the parsed topology and the whole ConfigReader
+ *              construction, on the bundled maps and on synthetic graphs of
+ *              10k to 1M nodes. Run from the repository root.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LoadBenchmark {
+    private static final int BACKUP_CHANNELS = 2;
+
+    @Param({"graphs/sample.txt", "graphs/big_big_graph.txt", "graphs/map.txt",
+            "grid:10000", "knn:100000", "grid:1000000"})
+    public String graph;
+
+    private Path file;
+    private Adjacency neighbors;
+    private int[] stations;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = BenchmarkGraphs.resolve(graph);
+        GraphFile parsed = GraphParser.parse(file);
+        neighbors = parsed.getTopology().neighbors();
+        stations = parsed.getStations();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkGraphs.release(graph, file);
+    }
+
+    @Benchmark
+    public GraphFile parse() throws IOException {
+        return GraphParser.parse(file);
+    }
+
+    @Benchmark
+    public Adjacency channels() {
+        int[] distances = ChannelBuilder.distances(neighbors, stations);
+        return ChannelBuilder.channels(neighbors, distances, BACKUP_CHANNELS, new Random(0));
+    }
+
+    @Benchmark
+    public ConfigReader load() {
+        return new ConfigReader(file.toString(), new Random(0));
+    }
+}
@@ -1,10 +1,18 @@
 
 package Mobile_Agents;
 
-import java.awt.*;
-import java.util.*;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import Mobile_Agents.event.AgentCreated;
+import Mobile_Agents.event.EventBus;
+import Mobile_Agents.metrics.Metrics;
+import Mobile_Agents.runtime.ActorExecutor;
+import Mobile_Agents.runtime.Affine;
+import Mobile_Agents.runtime.Mailbox;
+import Mobile_Agents.runtime.MpscMailbox;
+import Mobile_Agents.search.SearchState;
+import Mobile_Agents.trace.TraceRecorder;
 
 /**
  * Class: Agent
@@ -12,32 +20,71 @@ import java.util.concurrent.LinkedBlockingQueue;
  *              through sensor map.
  * @Contributers Miguel Gonzalez, Tanner Randall Hunt
  */
-public class Agent implements Runnable {
-    private BlockingQueue<Message> inbox;
+public class Agent implements Runnable, Affine {
+    private static final long SEARCH_RETRY_MILLIS = 100;
+
+    private final Mailbox<Message> inbox;
     private String name;
     private long timeCreated;
     private Status agentStatus;
     private SensorNode residingNode;
-    private LinkedList<Point> visited = new LinkedList<>();
+    private final SearchState search = new SearchState();
+    private volatile ActorExecutor executor;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
 
+    /**
+     * Runs one step of the agent. A searching agent retries its search
+     * every SEARCH_RETRY_MILLIS until it fortifies or its node burns, a
+     * fortified agent drains its inbox and waits to be scheduled by the
+     * next message.
+     */
     @Override
     public void run() {
-        while (agentStatus != Status.DEAD){
-            if (agentStatus == Status.SEARCHING) {
-                move(residingNode);
-            }
-            if(agentStatus == Status.FORTIFIED){
-                try {
-                    Message message = inbox.take();
-
-                    if(message.getMessageType() == Message.Type.NODE_DEATH){
-                        this.agentStatus = Status.DEAD;
-                    }
-                }catch(InterruptedException e){
-                    e.printStackTrace();
+        if (agentStatus == Status.SEARCHING) {
+            move(residingNode);
+        }
+        if(agentStatus == Status.FORTIFIED){
+            Message message;
+            while ((message = inbox.poll()) != null) {
+                if(message.getMessageType() == Message.Type.NODE_DEATH){
+                    this.agentStatus = Status.DEAD;
                 }
             }
         }
+        if (agentStatus == Status.SEARCHING) {
+            if (residingNode.getNodeStatus() == SensorNode.Status.ON_FIRE) {
+                agentStatus = Status.DEAD;
+            } else {
+                executor.schedule(this, SEARCH_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+                return;
+            }
+        }
+        if (agentStatus == Status.DEAD) {
+            return;
+        }
+        scheduled.set(false);
+        if (!inbox.isEmpty()) {
+            schedule();
+        }
+    }
+
+    /**
+     * Attaches the agent to the executor that will run it.
+     * @param executor executor driving the simulation
+     */
+    public void start(ActorExecutor executor) {
+        this.executor = executor;
+        schedule();
+    }
+
+    /*
+     * Hands the agent to the executor unless it is already waiting to run.
+     */
+    private void schedule() {
+        ActorExecutor executor = this.executor;
+        if (executor != null && scheduled.compareAndSet(false, true)) {
+            executor.execute(this);
+        }
     }
 
     /**
@@ -59,19 +106,20 @@ public class Agent implements Runnable {
      * @param name
      */
     public Agent(String name, SensorNode residingNode, Status agentStatus) {
-        inbox = new LinkedBlockingQueue<>();
+        inbox = new MpscMailbox<>();
         this.name = name;
-        timeCreated = System.currentTimeMillis();
+        timeCreated = residingNode.currentTimeMillis();
         this.residingNode = residingNode;
         this.agentStatus = agentStatus;
         if(agentStatus==Status.FORTIFIED){
-            residingNode.putInInbox(new Message(Message.Type.FORTIFICATION));
+            residingNode.putInInbox(Message.FORTIFICATION);
+        }
+        residingNode.putInInbox(new Report(name, timeCreated,
+                residingNode.getX(), residingNode.getY()));
+        EventBus events = residingNode.getNetwork().getEventBus();
+        if(events.hasSubscribers(AgentCreated.class)){
+            events.publish(new AgentCreated(name, residingNode.getId(), timeCreated));
         }
-        Message creation = new Message(Message.Type.CREATION);
-        creation.setAgentName(name);
-        creation.setAgentTimeCreation(timeCreated);
-        creation.setLocation(residingNode.getLocation());
-        residingNode.putInInbox(creation);
     }
 
     /**
@@ -83,45 +131,48 @@ public class Agent implements Runnable {
     }
 
     /**
-     * Adds message into the inbox
+     * An agent runs next to the node it resides on
+     * @return id of the residing node
+     */
+    @Override
+    public int affinity() {
+        return residingNode.getId();
+    }
+
+    /**
+     * Adds message into the inbox, traced like a delivery to a node
      * @param message
      */
     public void putInInbox(Message message) {
-        try {
-            inbox.put(message);
-        }catch(InterruptedException e) {
-            e.printStackTrace();
+        TraceRecorder trace = residingNode.getNetwork().getTraceRecorder();
+        if(trace != null) {
+            trace.agentDelivery(residingNode.currentTimeMillis(), residingNode.getId(), message);
         }
+        inbox.offer(message);
+        schedule();
     }
 
     /*
      * Handles the moving of the agent while it searches for a node that
-     * is close to the fire. Does a "random" directed search, where it
-     * will randomly choose on of the neighbors if it hasn't been visited
-     * before or if it is not on fire.
+     * is close to the fire. The search itself is done by the strategy set
+     * on the network, iteratively and with a bitset of visited ids, and
+     * the agent fortifies the node it finds.
      */
-     private void move(SensorNode current) {
-         if(current.getNodeStatus()== SensorNode.Status.CLOSE_TO_FIRE) {
-             agentStatus = Status.FORTIFIED;
-             residingNode = current;
-
-             current.setNodeAgent(this);
-             current.putInInbox(new Message(Message.Type.FORTIFICATION));
-             return;
-
-         }
-        Collections.shuffle(current.getNeighborNodes());
-        if(!visited.contains(current.getLocation())) {
-            visited.add(current.getLocation());
-            for (SensorNode currNeighbor : current.getNeighborNodes()) {
-                if (currNeighbor.getNodeAgent() == null) {
-                    if (!visited.contains(currNeighbor.getLocation())) {
-                        move(currNeighbor);
-                    }
-                }
-            }
+    private void move(SensorNode current) {
+        SensorNetwork network = current.getNetwork();
+        search.reset();
+        int found = network.getSearchStrategy().search(network, current.getId(), search,
+                executor.random());
+        if (Metrics.ENABLED) Metrics.searchSteps(search.getSteps());
+        if (found >= 0) {
+            SensorNode target = network.node(found);
+            agentStatus = Status.FORTIFIED;
+            residingNode = target;
+
+            target.setNodeAgent(this);
+            target.putInInbox(Message.FORTIFICATION);
         }
-     }
+    }
 
     /**
      * String representation of our agent
@@ -1,17 +1,21 @@
 package Mobile_Agents;
 
+import Mobile_Agents.event.EventBus;
 import Mobile_Agents.gui.GuiGraph;
 import Mobile_Agents.gui.GuiLog;
 import Mobile_Agents.reader.ConfigReader;
+import Mobile_Agents.runtime.ActorExecutor;
+import Mobile_Agents.trace.TraceReader;
+import Mobile_Agents.trace.TraceRecorder;
+import Mobile_Agents.trace.TraceReplayer;
 import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.scene.layout.BorderPane;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
-import java.awt.*;
 import java.io.File;
-import java.util.HashMap;
+import java.nio.file.Paths;
 
 
 
@@ -28,26 +32,55 @@ public class Main extends Application {
         File file = promptSelection();
         if(file != null) {
             configReader = new ConfigReader(file.getPath());
+            SensorNetwork network = configReader.getNetwork();
+            String spill = System.getProperty("mobile_agents.log.spill");
+            if(spill != null) {
+                network.setStationLog(new StationLog(Paths.get(spill)));
+            }
+            network.setEventBus(EventBus.asynchronous());
+            String trace = System.getProperty("mobile_agents.trace");
+            if(trace != null) {
+                network.setTraceRecorder(new TraceRecorder(Paths.get(trace)));
+            }
 
             BorderPane borderPane = new BorderPane();
-            HashMap<Point, SensorNode> sensorMap = configReader.getSensorMap();
-            GuiGraph guiGraph = new GuiGraph(sensorMap);
-            GuiLog guiLog = new GuiLog();
-            configReader.getFireStation().addObserver(guiLog);
+            GuiGraph guiGraph = new GuiGraph(network);
+            GuiLog guiLog = new GuiLog(network.getStationLog(), network.getEventBus());
             borderPane.setCenter(guiGraph);
             borderPane.setLeft(guiLog);
             Scene scene = new Scene(borderPane);
 
 
-            configReader.ignite();
-            for (SensorNode sensorNode : sensorMap.values()) {
-                Thread thread = new Thread(sensorNode);
+            Runnable stop;
+            String replay = System.getProperty("mobile_agents.replay");
+            if(replay != null) {
+                //Shows a recorded run of this config instead of simulating.
+                TraceReplayer replayer = new TraceReplayer(new TraceReader(Paths.get(replay)),
+                        network.getEventBus(), Long.getLong("mobile_agents.replay.from", 0),
+                        Double.parseDouble(System.getProperty("mobile_agents.replay.speed", "1")));
+                Thread thread = new Thread(replayer, "trace-replay");
+                thread.setDaemon(true);
                 thread.start();
+                stop = thread::interrupt;
+            }else {
+                ActorExecutor executor = ActorExecutor.create(System.getProperty("actors"),
+                        network.getTopology());
+                for (int id = 0; id < network.size(); id++) {
+                    network.node(id).start(executor);
+                }
+                configReader.ignite();
+                configReader.dispatch();
+                stop = executor::shutdown;
             }
-            configReader.dispatch();
 
             primaryStage.setScene(scene);
             primaryStage.setOnCloseRequest(event -> {
+                stop.run();
+                network.getEventBus().shutdown();
+                network.getStationLog().close();
+                if(network.getTraceRecorder() != null) {
+                    network.getTraceRecorder().close();
+                }
                 System.exit(0);
             });
             primaryStage.show();
@@ -1,68 +1,77 @@
 package Mobile_Agents;
-import java.awt.Point;
-import java.util.*;
 /**
  * Class: Message
- * Description: creates a message object that will hold information needed
- *               to be relayed
+ * Description: Immutable message relayed between nodes and agents. Control
+ *              signals carry nothing but their type and are shared singletons,
+ *              reports of agent creations are Report instances, merged ones
+ *              ReportBatch instances, route advertisements RouteUpdate
+ *              instances and deaths sent to neighbors NodeDeath instances.
  * @Contributers Miguel Gonzalez, Tanner Randall Hunt
  */
 public class Message {
-    private String agentName;
-    private long agentTimeCreation;
-    private Point location;
-    private Deque<Point> visitedLocations = new LinkedList<>();
-    private Type messageType;
+    public static final Message NODE_DEATH = new Message(Type.NODE_DEATH);
+    public static final Message AGENT_CREATION = new Message(Type.AGENT_CREATION);
+    public static final Message CATCH_FIRE = new Message(Type.CATCH_FIRE);
+    public static final Message FORTIFICATION = new Message(Type.FORTIFICATION);
+    public static final Message FLUSH = new Message(Type.FLUSH);
+
+    private final Type messageType;
 
     /**
      * Defines the type of Message we need to relay.
      *
-     * NODE_TO_NODE: Relays information regarding status of nodes
+     * NODE_DEATH: A neighbor has caught on fire.
+     *
+     * AGENT_CREATION: A neighbor holds a fortified agent, an agent has to be
+     * created on this node.
+     *
+     * CATCH_FIRE: The node catches on fire.
+     *
+     * FORTIFICATION: An agent has fortified on the node.
+     *
+     * CREATION: Report of the creation of an agent on a given node, relayed
+     * to the base station for its log.
+     *
+     * ROUTE_UPDATE: A neighbor's cost to the nearest station has changed.
      *
-     * NODE_TO_AGENT: Relays information regarding the status of the node
-     * and how the Agent should act.
+     * REPORT_BATCH: Several CREATION reports merged by a node on their way to
+     * the base station.
      *
-     * AGENT_CREATION: Relays information regarding the creation of an agent on a given
-     * node. Will be used for the base log.
+     * FLUSH: The window of the reports buffered by the node has closed.
      */
     public enum Type {
         NODE_DEATH,
         AGENT_CREATION,
         CATCH_FIRE,
         FORTIFICATION,
-        CREATION
+        CREATION,
+        ROUTE_UPDATE,
+        REPORT_BATCH,
+        FLUSH
     }
 
     /**
      * Constructor that creates a message with a given type
      * @param messageType type of message
      */
-    public Message(Type messageType) {
+    protected Message(Type messageType) {
         this.messageType = messageType;
     }
 
     /**
-     * Sets the location
-     * @param location location of creation.
+     * Gets the shared instance of a control signal
+     * @param messageType any type but CREATION, ROUTE_UPDATE and REPORT_BATCH
+     * @return shared message
      */
-    public void setLocation(Point location) {
-        this.location = location;
-    }
-
-    /**
-     * Sets the name of the agent
-     * @param agentName name of agent
-     */
-    public void setAgentName(String agentName) {
-        this.agentName = agentName;
-    }
-
-    /**
-     * Sets the agents time of creation
-     * @param agentTimeCreation time created
-     */
-    public void setAgentTimeCreation(long agentTimeCreation) {
-        this.agentTimeCreation = agentTimeCreation;
+    public static Message of(Type messageType) {
+        switch (messageType) {
+            case NODE_DEATH: return NODE_DEATH;
+            case AGENT_CREATION: return AGENT_CREATION;
+            case CATCH_FIRE: return CATCH_FIRE;
+            case FORTIFICATION: return FORTIFICATION;
+            case FLUSH: return FLUSH;
+            default: throw new IllegalArgumentException(messageType + " is not a control signal");
+        }
     }
 
     /**
@@ -73,30 +82,10 @@ public class Message {
         return messageType;
     }
 
-    /**
-     * Pushes a node to its visited stack
-     * @param point
-     */
-    public void pushVisitedNodes(Point point){
-        visitedLocations.push(point);
-    }
-
-
-    /**
-     * Get this messages visited points
-     * @return visitedLocations
-     */
-    public Deque<Point> getVisitedLocations() {
-        return visitedLocations;
-    }
-
     /**
      * Sting representation of our message
      */
     public String toString(){
-        String str = "";
-        str = str.concat("\nAgent: "+agentName+"\nTime Created: "+agentTimeCreation);
-        str = str.concat("\nCreated At: "+location+"\n");
-        return str;
+        return messageType.toString();
     }
 }
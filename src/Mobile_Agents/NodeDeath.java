@@ -0,0 +1,34 @@
+package Mobile_Agents;
+
+/**
+ * Class: NodeDeath
+ * Description: Immutable NODE_DEATH message a burning node sends to its
+ *              neighbors. The id of the burned node lets every neighbor drop
+ *              it from its forwarding row at once rather than on the next
+ *              report it fails to forward. The agent of the burning node is
+ *              told with the shared Message.NODE_DEATH instead.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public final class NodeDeath extends Message {
+    private final int from;
+
+    /**
+     * @param from id of the burned node
+     */
+    public NodeDeath(int from) {
+        super(Type.NODE_DEATH);
+        this.from = from;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    /**
+     * Sting representation of our node death
+     */
+    @Override
+    public String toString(){
+        return getMessageType() + " from " + from;
+    }
+}
@@ -0,0 +1,128 @@
+package Mobile_Agents;
+
+import java.awt.Point;
+
+/**
+ * Class: Report
+ * Description: Immutable CREATION message routed hop by hop to the fire
+ *              station. Forwarding returns a copy with one more hop so a
+ *              report can be shared between threads without locking. Besides
+ *              its hops a report remembers the lowest cost to a station it
+ *              has been forwarded from and how many hops ago, a report that
+ *              stops getting closer is circling while the routes converge.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public final class Report extends Message {
+    private final String agentName;
+    private final long agentTimeCreation;
+    private final int x;
+    private final int y;
+    private final int hops;
+    private final int closest;
+    private final int stalled;
+
+    /**
+     * Creates the report of an agent creation
+     * @param agentName name of the agent
+     * @param agentTimeCreation time the agent was created
+     * @param x x coordinate of the node the agent was created on
+     * @param y y coordinate of the node the agent was created on
+     */
+    public Report(String agentName, long agentTimeCreation, int x, int y) {
+        this(agentName, agentTimeCreation, x, y, 0, Integer.MAX_VALUE, 0);
+    }
+
+    /**
+     * Recreates a report as it was forwarded, e.g. when it arrives from
+     * another process
+     * @param agentName name of the agent
+     * @param agentTimeCreation time the agent was created
+     * @param x x coordinate of the node the agent was created on
+     * @param y y coordinate of the node the agent was created on
+     * @param hops hops the report has made
+     * @param closest lowest cost to a station the report was forwarded from
+     * @param stalled hops since the report last got closer to a station
+     */
+    public Report(String agentName, long agentTimeCreation, int x, int y, int hops,
+                  int closest, int stalled) {
+        super(Type.CREATION);
+        this.agentName = agentName;
+        this.agentTimeCreation = agentTimeCreation;
+        this.x = x;
+        this.y = y;
+        this.hops = hops;
+        this.closest = closest;
+        this.stalled = stalled;
+    }
+
+    /**
+     * Creates a copy of this report forwarded one more hop
+     * @param cost cost to a station of the forwarding node
+     * @return forwarded report
+     */
+    public Report forwarded(int cost) {
+        if (cost < closest) {
+            return new Report(agentName, agentTimeCreation, x, y, hops + 1, cost, 0);
+        }
+        return new Report(agentName, agentTimeCreation, x, y, hops + 1, closest, stalled + 1);
+    }
+
+    /**
+     * Gets the number of hops the report has made
+     * @return hop count
+     */
+    public int getHopCount() {
+        return hops;
+    }
+
+    /**
+     * Gets the lowest cost to a station the report has been forwarded from
+     * @return closest cost, Integer.MAX_VALUE before the first hop
+     */
+    public int getClosestCost() {
+        return closest;
+    }
+
+    /**
+     * Gets the number of hops since the report last got closer to a station
+     * @return hops without progress
+     */
+    public int getStalledHops() {
+        return stalled;
+    }
+
+    public String getAgentName() {
+        return agentName;
+    }
+
+    public long getAgentTimeCreation() {
+        return agentTimeCreation;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Gets the location
+     * @return new Point holding the location of creation
+     */
+    public Point getLocation() {
+        return new Point(x, y);
+    }
+
+    /**
+     * Sting representation of our report
+     */
+    @Override
+    public String toString(){
+        String str = "";
+        str = str.concat("\nAgent: "+agentName+"\nTime Created: "+agentTimeCreation);
+        str = str.concat("\nCreated At: "+getLocation()+"\n");
+        return str;
+    }
+}
@@ -0,0 +1,47 @@
+package Mobile_Agents;
+
+/**
+ * Class: ReportBatch
+ * Description: Immutable REPORT_BATCH message, CREATION reports a node has
+ *              buffered and forwards to its next hop as one message. Every
+ *              report keeps its own hop count, a node receiving the batch
+ *              merges the reports into its own buffer or, at the station,
+ *              logs them one by one.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public final class ReportBatch extends Message {
+    private final Report[] reports;
+
+    /**
+     * @param reports reports of the batch, owned by the batch from now on
+     */
+    public ReportBatch(Report[] reports) {
+        super(Type.REPORT_BATCH);
+        this.reports = reports;
+    }
+
+    /**
+     * Gets the number of reports in the batch
+     * @return report count
+     */
+    public int size() {
+        return reports.length;
+    }
+
+    /**
+     * Gets a report of the batch
+     * @param index index of the report
+     * @return report
+     */
+    public Report get(int index) {
+        return reports[index];
+    }
+
+    /**
+     * Sting representation of our batch
+     */
+    @Override
+    public String toString(){
+        return getMessageType() + " of " + reports.length;
+    }
+}
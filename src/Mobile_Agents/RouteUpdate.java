@@ -0,0 +1,48 @@
+package Mobile_Agents;
+
+/**
+ * Class: RouteUpdate
+ * Description: Immutable ROUTE_UPDATE message, a node advertising its cost to
+ *              the nearest fire station to its neighbors after its cost
+ *              changed, because a neighbor burned or a forward rerouted it.
+ *              The next hop of the sender is included so that a neighbor never
+ *              routes back through the node that routes through it.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public final class RouteUpdate extends Message {
+    private final int from;
+    private final int cost;
+    private final int via;
+
+    /**
+     * @param from id of the advertising node
+     * @param cost hops from the node to a station, ForwardingTable.UNREACHABLE for none
+     * @param via next hop of the node, -1 for none
+     */
+    public RouteUpdate(int from, int cost, int via) {
+        super(Type.ROUTE_UPDATE);
+        this.from = from;
+        this.cost = cost;
+        this.via = via;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public int getVia() {
+        return via;
+    }
+
+    /**
+     * Sting representation of our route update
+     */
+    @Override
+    public String toString(){
+        return getMessageType() + " from " + from + " cost " + cost;
+    }
+}
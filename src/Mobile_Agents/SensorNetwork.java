@@ -0,0 +1,373 @@
+package Mobile_Agents;
+
+import Mobile_Agents.distributed.NioTransport;
+import Mobile_Agents.distributed.Partition;
+import Mobile_Agents.event.EventBus;
+import Mobile_Agents.graph.Adjacency;
+import Mobile_Agents.graph.CoordinateIndex;
+import Mobile_Agents.graph.ForwardingTable;
+import Mobile_Agents.graph.Topology;
+import Mobile_Agents.search.SearchStrategy;
+import Mobile_Agents.trace.TraceRecorder;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
+
+/**
+ * Class: SensorNetwork
+ * Description: Holds the sensor nodes of a simulation indexed by id together
+ *              with the topology they were built from, the channels back to
+ *              the fire stations and the forwarding table reports follow.
+ *
+ *              Reports may be aggregated on their way to the stations: every
+ *              node then buffers the reports it forwards for a window of time,
+ *              or until a batch is full, and sends them on as one message.
+ *              -Dmobile_agents.aggregate=WINDOW[:BATCH] turns this on, WINDOW
+ *              in milliseconds and BATCH reports, trading the latency of the
+ *              reports for fewer messages near the stations.
+ *
+ *              In a distributed simulation the network only hosts the nodes of
+ *              its partition. Remote neighbors of local nodes are ghosts that
+ *              hand their messages to the transport and mirror the status of
+ *              the real node, node() returns null for any other remote node.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class SensorNetwork {
+    private static final int DEFAULT_AGGREGATION_SIZE = 32;
+
+    private final Topology topology;
+    private final SensorNode[] nodes;
+    private Adjacency channels;
+    private ForwardingTable routes;
+    private final IntPredicate alive = this::isAlive;
+    private StationLog stationLog = new StationLog();
+    private EventBus eventBus = new EventBus();
+    private TraceRecorder traceRecorder;
+    private volatile CoordinateIndex coordinates;
+    private final AtomicLong firstFire = new AtomicLong(Long.MAX_VALUE);
+    private SearchStrategy searchStrategy =
+            SearchStrategy.valueOf(System.getProperty("mobile_agents.search", "DFS"));
+    private long aggregationMillis;
+    private int aggregationSize = 1;
+    private final Partition partition;
+    private NioTransport transport;
+
+    /**
+     * Creates a sensor node for every node of the topology.
+     * @param topology network topology
+     */
+    public SensorNetwork(Topology topology) {
+        this(topology, null);
+    }
+
+    /**
+     * Creates a sensor node for every node of the partition and a ghost for
+     * every remote neighbor of one.
+     * @param topology network topology
+     * @param partition nodes hosted by this process, null to host them all
+     */
+    public SensorNetwork(Topology topology, Partition partition) {
+        this.topology = topology;
+        this.partition = partition;
+        this.nodes = new SensorNode[topology.size()];
+        Adjacency neighbors = topology.neighbors();
+        for (int id = 0; id < nodes.length; id++) {
+            if (isLocal(id)) {
+                nodes[id] = new SensorNode(id, this);
+                for (int k = neighbors.start(id); k < neighbors.end(id); k++) {
+                    int neighbor = neighbors.target(k);
+                    if (!isLocal(neighbor) && nodes[neighbor] == null) {
+                        nodes[neighbor] = new SensorNode(neighbor, this);
+                    }
+                }
+            }
+        }
+        this.channels = new Adjacency.Builder(nodes.length).build();
+        String aggregate = System.getProperty("mobile_agents.aggregate");
+        if (aggregate != null) {
+            String[] parts = aggregate.split(":");
+            setAggregation(Long.parseLong(parts[0]),
+                    parts.length > 1 ? Integer.parseInt(parts[1]) : DEFAULT_AGGREGATION_SIZE);
+        }
+    }
+
+    /**
+     * Gets a sensor node
+     * @param id node id
+     * @return sensor node
+     */
+    public SensorNode node(int id) {
+        return nodes[id];
+    }
+
+    /**
+     * Gets the sensor node at the given coordinates. The coordinate index is
+     * built on first use.
+     * @param x x coordinate
+     * @param y y coordinate
+     * @return sensor node, null if no node is there
+     */
+    public SensorNode nodeAt(int x, int y) {
+        CoordinateIndex index = coordinates;
+        if (index == null) {
+            index = coordinates = CoordinateIndex.of(topology);
+        }
+        int id = index.get(x, y);
+        return id < 0 ? null : nodes[id];
+    }
+
+    /**
+     * Delivers one message to every neighbor of a node that is not burning,
+     * the whole fan-out in a single call over the node's adjacency row.
+     * @param from id of the sending node
+     * @param message message shared by all receivers
+     */
+    public void broadcast(int from, Message message) {
+        Adjacency neighbors = topology.neighbors();
+        for (int k = neighbors.start(from); k < neighbors.end(from); k++) {
+            SensorNode node = nodes[neighbors.target(k)];
+            if (node.getNodeStatus() != SensorNode.Status.ON_FIRE) {
+                node.putInInbox(message);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a node is hosted by this process
+     * @param id node id
+     * @return true unless the simulation is distributed and the node remote
+     */
+    public boolean isLocal(int id) {
+        return partition == null || partition.isLocal(id);
+    }
+
+    /**
+     * Checks whether a local node has a neighbor hosted by another process
+     * @param id node id
+     * @return true if the node's status is mirrored by other processes
+     */
+    public boolean isBoundary(int id) {
+        if (partition == null || !partition.isLocal(id)) {
+            return false;
+        }
+        Adjacency neighbors = topology.neighbors();
+        for (int k = neighbors.start(id); k < neighbors.end(id); k++) {
+            if (!partition.isLocal(neighbors.target(k))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the nodes hosted by each process
+     * @return partition, null when the simulation is not distributed
+     */
+    public Partition getPartition() {
+        return partition;
+    }
+
+    /**
+     * Gets the transport carrying messages to remote nodes
+     * @return transport, null when the simulation is not distributed
+     */
+    public NioTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Sets the transport carrying messages to remote nodes. Must be called
+     * before the simulation starts.
+     * @param transport transport connected to the other processes
+     */
+    public void setTransport(NioTransport transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * Gets the number of node ids, hosted by this process or not
+     * @return node count
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Gets the topology of the network
+     * @return topology
+     */
+    public Topology getTopology() {
+        return topology;
+    }
+
+    /**
+     * Gets the channel neighbors of every node, the next hops towards
+     * the fire station.
+     * @return channels
+     */
+    public Adjacency getChannels() {
+        return channels;
+    }
+
+    /**
+     * Gets the forwarding table of the reports
+     * @return routes, null until the channels are set
+     */
+    public ForwardingTable getRoutes() {
+        return routes;
+    }
+
+    /**
+     * Gets the neighbor a node forwards reports to, skipping and repairing
+     * next hops that have burned.
+     * @param id id of the forwarding node, called from its own actor only
+     * @return next hop, -1 if the node has no route to a station
+     */
+    public int nextHop(int id) {
+        return routes == null ? -1 : routes.nextHop(id, alive);
+    }
+
+    private boolean isAlive(int id) {
+        return nodes[id].getNodeStatus() != SensorNode.Status.ON_FIRE;
+    }
+
+    /**
+     * Gets the strategy searching agents use to find the fire
+     * @return search strategy
+     */
+    public SearchStrategy getSearchStrategy() {
+        return searchStrategy;
+    }
+
+    /**
+     * Sets the strategy searching agents use to find the fire, DFS unless
+     * -Dmobile_agents.search names another one.
+     * @param searchStrategy search strategy
+     */
+    public void setSearchStrategy(SearchStrategy searchStrategy) {
+        this.searchStrategy = searchStrategy;
+    }
+
+    /**
+     * Checks whether nodes buffer the reports they forward
+     * @return true if reports are aggregated
+     */
+    public boolean isAggregating() {
+        return aggregationMillis > 0 && aggregationSize > 1;
+    }
+
+    /**
+     * Gets the longest time a node holds a report before forwarding it
+     * @return aggregation window in milliseconds
+     */
+    public long getAggregationMillis() {
+        return aggregationMillis;
+    }
+
+    /**
+     * Gets the number of reports after which a node forwards its buffer
+     * without waiting for the window to close
+     * @return largest batch of reports
+     */
+    public int getAggregationSize() {
+        return aggregationSize;
+    }
+
+    /**
+     * Sets how nodes aggregate the reports they forward. Must be called
+     * before the simulation starts.
+     * @param windowMillis longest time a report is held, 0 to forward every
+     *                     report on its own
+     * @param batchSize number of reports forwarded at once without waiting
+     */
+    public void setAggregation(long windowMillis, int batchSize) {
+        if (windowMillis < 0 || batchSize < 1) {
+            throw new IllegalArgumentException("Bad aggregation " + windowMillis + ":" + batchSize);
+        }
+        this.aggregationMillis = windowMillis;
+        this.aggregationSize = batchSize;
+    }
+
+    /**
+     * Gets the log of the reports received by the fire station
+     * @return station log
+     */
+    public StationLog getStationLog() {
+        return stationLog;
+    }
+
+    /**
+     * Replaces the station log, e.g. with one that spills to disk. Must be
+     * called before the simulation starts.
+     * @param stationLog station log
+     */
+    public void setStationLog(StationLog stationLog) {
+        this.stationLog = stationLog;
+    }
+
+    /**
+     * Gets the bus node status changes, agent creations and station
+     * reports are published on
+     * @return event bus
+     */
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Replaces the event bus, e.g. with an asynchronous one. Must be called
+     * before the simulation starts.
+     * @param eventBus event bus
+     */
+    public void setEventBus(EventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Gets the recorder of the run's trace
+     * @return trace recorder, null when the run is not traced
+     */
+    public TraceRecorder getTraceRecorder() {
+        return traceRecorder;
+    }
+
+    /**
+     * Records every delivery and status change of the run. Must be called
+     * before the simulation starts.
+     * @param traceRecorder trace recorder, null to stop tracing
+     */
+    public void setTraceRecorder(TraceRecorder traceRecorder) {
+        this.traceRecorder = traceRecorder;
+    }
+
+    /**
+     * A node caught fire. The earliest time is taken as the ignition of
+     * this network's run.
+     * @param millis time the node burned
+     */
+    public void burned(long millis) {
+        if (millis < firstFire.get()) {
+            firstFire.accumulateAndGet(millis, Math::min);
+        }
+    }
+
+    /**
+     * Gets the time the first node of the run burned
+     * @return ignition time, -1 while nothing has burned
+     */
+    public long getIgnitionMillis() {
+        long ignition = firstFire.get();
+        return ignition == Long.MAX_VALUE ? -1 : ignition;
+    }
+
+    /**
+     * Sets the channel neighbors of every node and builds the forwarding
+     * table from them.
+     * @param channels channels
+     * @param distances hop distance of every node to the nearest station
+     */
+    public void setChannels(Adjacency channels, int[] distances) {
+        this.channels = channels;
+        this.routes = new ForwardingTable(topology.neighbors(), channels, distances);
+    }
+}
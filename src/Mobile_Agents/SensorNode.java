@@ -4,9 +4,20 @@ package Mobile_Agents;
 import java.awt.*;
 import java.util.*;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import Mobile_Agents.event.EventBus;
+import Mobile_Agents.event.NodeStatusChanged;
+import Mobile_Agents.event.StationReport;
+import Mobile_Agents.graph.ForwardingTable;
+import Mobile_Agents.graph.Topology;
+import Mobile_Agents.metrics.Metrics;
+import Mobile_Agents.runtime.ActorExecutor;
+import Mobile_Agents.runtime.Affine;
+import Mobile_Agents.runtime.Mailbox;
+import Mobile_Agents.runtime.MpscMailbox;
+import Mobile_Agents.trace.TraceRecorder;
 
 /**
  * Class: SensorNode
@@ -15,19 +26,33 @@ import java.util.concurrent.TimeUnit;
  *              simulation to its neighbors.
  * @Contributers Miguel Gonzalez, Tanner Randall Hunt
  */
-public class SensorNode extends Observable implements Runnable{
+public class SensorNode implements Runnable, Affine {
+    private static final int BATCH_SIZE = 64;
+    private static final int STALL_HOPS = 8;
 
     private boolean fireSpread = true;
 
-    private BlockingQueue<Message> inbox;
-    private String log = "";
-    private Point location;
-    private List<SensorNode> neighborNodes = new ArrayList<>();
-    private List<SensorNode> channels = new ArrayList<>();
+    private final Mailbox<Message> inbox;
+    private final int id;
+    private final SensorNetwork network;
     private Agent nodeAgent;
     private Status nodeStatus;
     private boolean isFireStation;
     private int i = 0;
+    private volatile ActorExecutor executor;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private boolean dead;
+    private boolean ignitionPending;
+    private long messagesReceived;
+    private long firstReportTime = -1;
+    private Status tracedStatus = Status.OK;
+    private boolean routeChanged;
+    private List<Report> pending;
+    private boolean flushScheduled;
+    private final boolean remote;
+    private final boolean boundary;
+    private Status sharedStatus = Status.OK;
+    private volatile Status remoteStatus = Status.OK;
 
     /**
      * Defines the status of the node
@@ -47,23 +72,67 @@ public class SensorNode extends Observable implements Runnable{
     }
 
     /**
-     * Constructor that creates a sensor node
+     * Constructor that creates a sensor node. Its location, neighbors and
+     * channels are looked up in the network by id. A node the network does
+     * not host is a ghost of the remote one.
+     * @param id id of the node in the network topology
+     * @param network network the node belongs to
      */
-    public SensorNode(Point location) {
+    public SensorNode(int id, SensorNetwork network) {
         this.nodeAgent = null;
         this.nodeStatus = Status.OK;
-        this.inbox = new LinkedBlockingQueue<>();
-        this.location = location;
+        this.inbox = new MpscMailbox<>();
+        this.id = id;
+        this.network = network;
         this.isFireStation = false;
+        this.remote = !network.isLocal(id);
+        this.boundary = network.isBoundary(id);
     }
     /*
-     * Puts a message into the nodes inbox to be processed
+     * Puts a message into the nodes inbox to be processed. The inbox is
+     * unbounded and thread safe, senders do not lock the node. A ghost
+     * hands the message to the process hosting the node.
      */
-    public synchronized void putInInbox(Message message) {
-        try{
-            inbox.put(message);
-        }catch(InterruptedException e) {
-            e.printStackTrace();
+    public void putInInbox(Message message) {
+        if(remote) {
+            network.getTransport().send(id, message);
+            return;
+        }
+        if(Metrics.ENABLED) Metrics.delivered(message.getMessageType());
+        TraceRecorder trace = network.getTraceRecorder();
+        if(trace != null) {
+            int hops = message instanceof Report ? ((Report) message).getHopCount() : 0;
+            trace.delivery(currentTimeMillis(), id, message, hops);
+        }
+        inbox.offer(message);
+        schedule();
+    }
+
+    /**
+     * Attaches the node to the executor that will run it and schedules it
+     * so that any message received before the start is processed.
+     * @param executor executor driving the simulation
+     */
+    public void start(ActorExecutor executor) {
+        this.executor = executor;
+        schedule();
+    }
+
+    /*
+     * Gets the time on the clock of the executor running this node.
+     */
+    long currentTimeMillis() {
+        ActorExecutor executor = this.executor;
+        return executor != null ? executor.currentTimeMillis() : System.currentTimeMillis();
+    }
+
+    /*
+     * Hands the node to the executor unless it is already waiting to run.
+     */
+    private void schedule() {
+        ActorExecutor executor = this.executor;
+        if(executor != null && scheduled.compareAndSet(false, true)) {
+            executor.execute(this);
         }
     }
 
@@ -71,23 +140,70 @@ public class SensorNode extends Observable implements Runnable{
         return isFireStation;
     }
 
+    /**
+     * Checks whether this node is a ghost of a node hosted by another
+     * process
+     * @return true for a ghost
+     */
+    public boolean isRemote() {
+        return remote;
+    }
+
+    /**
+     * Mirrors the status of the remote node this ghost stands for. Written
+     * by the transport thread and read by any actor, hence volatile and
+     * apart from the status the node's own actor keeps.
+     * @param status status of the remote node
+     */
+    public void setRemoteStatus(Status status) {
+        remoteStatus = status;
+    }
+
     /**
      * While a node is not on fire, we will parse each message communicated
-     * to us and propagate necessary information to our neighbors.
+     * to us and propagate necessary information to our neighbors. Messages
+     * are drained from the inbox in batches of up to BATCH_SIZE. A change of
+     * route is advertised once per batch however many updates caused it.
+     * Returns once the inbox is empty, the node is scheduled again by the
+     * next message it receives.
      */
     @Override
     public void run() {
-        while(nodeStatus != Status.ON_FIRE) {
-            try {
-                Message incomingMessage = inbox.take();
-                processMessage(incomingMessage);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+        List<Message> batch = new ArrayList<>();
+        if(Metrics.ENABLED) Metrics.inboxDepth(inbox.size());
+        while(nodeStatus != Status.ON_FIRE && inbox.drainTo(batch, BATCH_SIZE) > 0) {
+            if(Metrics.ENABLED) Metrics.inboxBatch(batch.size());
+            for(int k = 0; k < batch.size() && nodeStatus != Status.ON_FIRE; k++) {
+                Message message = batch.get(k);
+                if(message != Message.FLUSH) messagesReceived++;
+                processMessage(message);
+            }
+            batch.clear();
+            if(routeChanged && nodeStatus != Status.ON_FIRE) {
+                routeChanged = false;
+                ForwardingTable routes = network.getRoutes();
+                network.broadcast(id, new RouteUpdate(id, routes.cost(id), routes.via(id)));
             }
         }
-        notifyNeighbors(Message.Type.NODE_DEATH);
-        notifyAgent(Message.Type.NODE_DEATH);
-        updateStatus();
+        if(nodeStatus == Status.ON_FIRE) {
+            /*
+             * A burned node stays marked as scheduled so it is never
+             * run again.
+             */
+            if(!dead) {
+                dead = true;
+                flushReports();
+                network.burned(currentTimeMillis());
+                network.broadcast(id, new NodeDeath(id));
+                notifyAgent(Message.Type.NODE_DEATH);
+                updateStatus();
+            }
+            return;
+        }
+        scheduled.set(false);
+        if(!inbox.isEmpty()) {
+            schedule();
+        }
     }
 
     /*
@@ -95,6 +211,7 @@ public class SensorNode extends Observable implements Runnable{
      * act accordingly.
      */
     private void processMessage(Message message) {
+        if(Metrics.ENABLED && message != Message.FLUSH) Metrics.processed(message.getMessageType());
         switch (message.getMessageType()) {
             case FORTIFICATION:{
                 /*
@@ -109,9 +226,16 @@ public class SensorNode extends Observable implements Runnable{
             }
             case NODE_DEATH:{
                 /*
-                 * Node has caught on fire, will notify neighbors of its death
+                 * A neighbor has caught on fire. It is dropped from our
+                 * routes right away, a change of our cost is advertised at
+                 * the end of the batch.
                  */
                 this.nodeStatus = Status.CLOSE_TO_FIRE;
+                ForwardingTable routes = network.getRoutes();
+                if(routes != null && message instanceof NodeDeath
+                        && routes.drop(id, ((NodeDeath) message).getFrom())){
+                    routeChanged = true;
+                }
 
                 if(nodeAgent!= null){
                     notifyNeighbors(Message.Type.AGENT_CREATION);
@@ -143,11 +267,42 @@ public class SensorNode extends Observable implements Runnable{
                  * our log, else we will attempt to propagate it to the
                  * base station
                  */
-                if(isFireStation){
-                    log  = log.concat(message.toString());
-                    setChanged();
-                    notifyObservers();
-                }else sendOnChannel(message);
+                receiveReport((Report) message);
+                break;
+            }
+            case REPORT_BATCH:{
+                /*
+                 * Reports merged by a neighbor, each one is handled as if
+                 * it had come on its own.
+                 */
+                ReportBatch reports = (ReportBatch) message;
+                for(int k = 0; k < reports.size(); k++){
+                    receiveReport(reports.get(k));
+                }
+                break;
+            }
+            case FLUSH:{
+                /*
+                 * The aggregation window has closed, the buffered reports
+                 * are forwarded.
+                 */
+                flushScheduled = false;
+                flushReports();
+                break;
+            }
+            case ROUTE_UPDATE:{
+                /*
+                 * A neighbor's route to the stations changed, our own route
+                 * is repaired the next time we forward a report. A route
+                 * through ourselves is useless to us and counts as no route.
+                 */
+                RouteUpdate update = (RouteUpdate) message;
+                ForwardingTable routes = network.getRoutes();
+                int cost = update.getVia() == id ? ForwardingTable.UNREACHABLE : update.getCost();
+                if(routes != null){
+                    routes.update(id, update.getFrom(), cost);
+                }
+                break;
             }
 
         }
@@ -159,35 +314,28 @@ public class SensorNode extends Observable implements Runnable{
 
     /*
      * Helper method in order to catch the current node on fire.
-     * It creates a separate thread that will sleep for a random
-     * number of seconds before sending a message to the node to
-     * catch itself on fire
+     * Schedules a message to the node to catch itself on fire after
+     * a random number of seconds. A node only ever has one ignition
+     * pending, further NODE_DEATH messages do not add new ones.
      */
     private void catchFire(){
-        if(fireSpread) {
-            Runnable runnable = ()-> {
-
-                Random random = new Random();
-                try {
-                    Thread.sleep(TimeUnit.SECONDS.toMillis(random.nextInt(2)+2));
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-                putInInbox(new Message(Message.Type.CATCH_FIRE));
-            };
-            new Thread(runnable).start();
+        if(fireSpread && !ignitionPending) {
+            ignitionPending = true;
+            int delay = executor.random().nextInt(2)+2;
+            executor.schedule(()-> putInInbox(Message.CATCH_FIRE),
+                    delay, TimeUnit.SECONDS);
         }
     }
 
 
 
     /*
-     * Helper method used to create a new message and send it residing agent.
+     * Helper method used to send the shared message of a type to the
+     * residing agent.
      */
     private void notifyAgent(Message.Type type) {
         if(nodeAgent != null) {
-            Message message = new Message(type);
-            nodeAgent.putInInbox(message);
+            nodeAgent.putInInbox(Message.of(type));
         }
     }
 
@@ -196,43 +344,142 @@ public class SensorNode extends Observable implements Runnable{
      * propagate information
      */
     private void notifyNeighbors(Message.Type type) {
-        Message message = new Message(type);
-        for (SensorNode node : neighborNodes) {
-            if(node.getNodeStatus() != Status.ON_FIRE) {
-                node.putInInbox(message);
+        network.broadcast(id, Message.of(type));
+    }
+
+    //Logs a report at the station. Other nodes forward it, right away or
+    //once their aggregation window closes or their buffer is full.
+    private void receiveReport(Report report){
+        if(isFireStation){
+            if(firstReportTime < 0
+                    && (report.getX() != getX() || report.getY() != getY())){
+                firstReportTime = currentTimeMillis();
+            }
+            network.getStationLog().append(report);
+            if(Metrics.ENABLED) {
+                Metrics.stationReport(report.getHopCount(), report.getAgentTimeCreation(),
+                        currentTimeMillis(), network.getIgnitionMillis());
+            }
+            EventBus events = network.getEventBus();
+            if(events.hasSubscribers(StationReport.class)){
+                events.publish(new StationReport(id, report, currentTimeMillis()));
+            }
+        }else if(!network.isAggregating()){
+            sendOnChannel(report);
+        }else{
+            if(pending == null){
+                pending = new ArrayList<>();
+            }
+            pending.add(report);
+            if(pending.size() >= network.getAggregationSize()){
+                flushReports();
+            }else if(!flushScheduled){
+                flushScheduled = true;
+                executor.schedule(this::closeWindow,
+                        network.getAggregationMillis(), TimeUnit.MILLISECONDS);
             }
         }
+    }
 
+    //Wakes the node up to flush its reports. FLUSH is a timer of the node
+    //itself, it is neither counted nor traced as a delivery.
+    private void closeWindow(){
+        inbox.offer(Message.FLUSH);
+        schedule();
     }
 
-    //Sends message  to a random neighbor node given that is on a channel path.
-    private void sendOnChannel(Message message ){
-        Collections.shuffle(channels);
-        for(SensorNode node:channels){
-            if(node.getNodeStatus()!=Status.ON_FIRE
-                &&!message.getVisitedLocations().contains(node.getLocation())){
-                message.pushVisitedNodes(node.getLocation());
-                node.putInInbox(message);
-                break;
+    //Sends report to the next hop of the forwarding table. The report is
+    //immutable, the forwarded copy carries one more hop.
+    private void sendOnChannel(Report report){
+        ForwardingTable routes = network.getRoutes();
+        if(routes == null || expired(report, routes)) return;
+        int next = nextHop(routes);
+        if(next >= 0){
+            network.node(next).putInInbox(report.forwarded(routes.cost(id)));
+        }
+    }
+
+    //Sends the buffered reports to the next hop of the forwarding table,
+    //merged into one batch. A pending FLUSH finds the buffer empty.
+    private void flushReports(){
+        ForwardingTable routes = network.getRoutes();
+        if(pending == null || pending.isEmpty() || routes == null) return;
+        Report[] reports = new Report[pending.size()];
+        int count = 0;
+        for(Report report : pending){
+            if(!expired(report, routes)){
+                reports[count++] = report;
             }
         }
+        pending.clear();
+        int next = count > 0 ? nextHop(routes) : -1;
+        if(next < 0) return;
+        int cost = routes.cost(id);
+        for(int k = 0; k < count; k++){
+            reports[k] = reports[k].forwarded(cost);
+        }
+        network.node(next).putInInbox(count == 1 ? reports[0]
+                : new ReportBatch(Arrays.copyOf(reports, count)));
+    }
+
+    //A report that has outlived the routes' time to live, or has not come
+    //closer to a station for STALL_HOPS hops, is dropped, it is circling
+    //while the routes converge.
+    private static boolean expired(Report report, ForwardingTable routes){
+        return report.getHopCount() >= routes.getLimit()
+                || report.getStalledHops() >= STALL_HOPS;
+    }
+
+    //Next hop of this node, noting a change of its cost to advertise.
+    private int nextHop(ForwardingTable routes){
+        int cost = routes.cost(id);
+        int next = network.nextHop(id);
+        if(routes.cost(id) != cost){
+            routeChanged = true;
+        }
+        return next;
     }
 
 
     /**
-     * Returns our log
+     * Returns the log of the fire station
      * @return log
      */
-    public String getLog() {
-        return log;
+    public StationLog getLog() {
+        return network.getStationLog();
+    }
+
+    /**
+     * Gets the number of messages this node has processed
+     * @return messages received
+     */
+    public long getMessagesReceived() {
+        return messagesReceived;
     }
 
     /**
-     * Gets the status of the node
+     * Gets the number of agents this node has created
+     * @return agents created
+     */
+    public int getAgentsCreated() {
+        return i;
+    }
+
+    /**
+     * Gets the time at which the fire station received its first report
+     * of an agent created away from the station
+     * @return time of the first report, -1 if none arrived
+     */
+    public long getFirstReportTime() {
+        return firstReportTime;
+    }
+
+    /**
+     * Gets the status of the node, the last one received for a ghost
      * @return Status of Node
      */
     public Status getNodeStatus() {
-        return nodeStatus;
+        return remote ? remoteStatus : nodeStatus;
     }
 
     /**
@@ -261,43 +508,61 @@ public class SensorNode extends Observable implements Runnable{
     }
 
     /**
-     * Adds a neighboring node to the list
-     * @param neighbor neighboring node
+     * Manually sets the node on fire.
      */
-    public void addNeighbor(SensorNode neighbor){
-        neighborNodes.add(neighbor);
+    public void setOnFire(){
+        nodeStatus = Status.ON_FIRE;
+        network.broadcast(id, new NodeDeath(id));
     }
 
+
     /**
-     * Adds a designated channel neighbor.
-     * @param neighbor neighboring node that is component in a channel
+     * Gets the node Location
+     * @return new Point holding the location
      */
-    public void addChannel(SensorNode neighbor){
-        channels.add(neighbor);
+    public Point getLocation(){
+        return network.getTopology().location(id);
     }
 
     /**
-     * Manually sets the node on fire.
+     * Gets the id of the node in the network topology
+     * @return id
      */
-    public void setOnFire(){
-        nodeStatus = Status.ON_FIRE;
-        notifyNeighbors(Message.Type.NODE_DEATH);
+    public int getId(){
+        return id;
     }
 
+    /**
+     * A node runs next to itself
+     * @return id of the node
+     */
+    @Override
+    public int affinity() {
+        return id;
+    }
 
     /**
-     * Gets the node Location
-     * @return location
+     * Gets the x coordinate of the node
+     * @return x
      */
-    public Point getLocation(){
-        return location;
+    public int getX(){
+        return network.getTopology().x(id);
+    }
+
+    /**
+     * Gets the y coordinate of the node
+     * @return y
+     */
+    public int getY(){
+        return network.getTopology().y(id);
     }
 
     /**
      * String representation of our node
      */
     public synchronized String toString(){
-        String str = "Sensor Location: ".concat(location.toString()+"\n");
+        Topology topology = network.getTopology();
+        String str = "Sensor Location: ".concat(getLocation().toString()+"\n");
         str = str.concat("Is Fire Station? " + isFireStation + "\n");
         str = str.concat("Status: "+nodeStatus+"\n");
         if(nodeAgent != null) {
@@ -306,36 +571,32 @@ public class SensorNode extends Observable implements Runnable{
             str = str.concat("Current Agent: null\n");
         }
         str = str.concat("Neighbors:\n");
-        for(SensorNode sensorNode:neighborNodes){
-            str = str.concat("\t"+sensorNode.getLocation().toString()+"\n");
+        for(int neighbor:topology.neighbors().targets(id)){
+            str = str.concat("\t"+topology.location(neighbor).toString()+"\n");
         }
         str = str.concat("Channels:\n");
-        for(SensorNode sensorNode:channels){
-            str = str.concat("\t"+sensorNode.getLocation().toString()+"\n");
+        for(int channel:network.getChannels().targets(id)){
+            str = str.concat("\t"+topology.location(channel).toString()+"\n");
         }
 
         return str;
     }
 
     /**
-     * Gets the neibors of this sensor
+     * Gets the network this sensor belongs to
      */
-    public  List<SensorNode> getNeighborNodes() {
-        return neighborNodes;
-    }
-
-    public List<SensorNode> getChannels() {
-        return channels;
+    public SensorNetwork getNetwork() {
+        return network;
     }
 
     /**
-     * Starts the agents thread
+     * Starts the agent that searches the graph for the fire
      */
     public  void dispatch(){
         isFireStation = true;
-        String hash = "[" + location.x + ", " + location.y + "] #" + i++;
+        String hash = "[" + getX() + ", " + getY() + "] #" + i++;
         Agent agent = new Agent(Integer.toString(hash.hashCode()), this, Agent.Status.SEARCHING);
-        new Thread(agent).start();
+        agent.start(executor);
     }
 
     /*
@@ -343,9 +604,9 @@ public class SensorNode extends Observable implements Runnable{
      */
     private void createAgent(){
         if(nodeAgent==null){
-            String hash = "[" + location.x + ", " + location.y + "] #" + i++;
+            String hash = "[" + getX() + ", " + getY() + "] #" + i++;
             nodeAgent = new Agent(Integer.toString(hash.hashCode()),this, Agent.Status.FORTIFIED);
-            new Thread(nodeAgent).start();
+            nodeAgent.start(executor);
         }
     }
 
@@ -354,15 +615,39 @@ public class SensorNode extends Observable implements Runnable{
      * to be represented properly
      */
     public void updateStatus(){
-        Status status = nodeStatus;
-        if(nodeAgent != null && nodeStatus == Status.ON_FIRE){
-            status = Status.CASUALTY;
-        }else if(nodeAgent != null && nodeStatus == Status.CLOSE_TO_FIRE){
-            status = Status.FORTIFIED;
-        }else if(nodeAgent != null && nodeStatus != Status.ON_FIRE){
-            status = Status.OCCUPIED;
+        if(boundary && nodeStatus != sharedStatus) {
+            sharedStatus = nodeStatus;
+            network.getTransport().status(id, nodeStatus);
+        }
+        TraceRecorder trace = network.getTraceRecorder();
+        if(trace != null) {
+            Status status = getDisplayStatus();
+            if(status != tracedStatus) {
+                tracedStatus = status;
+                trace.status(currentTimeMillis(), id, status);
+            }
+        }
+        EventBus events = network.getEventBus();
+        if(events.hasSubscribers(NodeStatusChanged.class)){
+            events.publish(new NodeStatusChanged(id, getDisplayStatus()));
+        }
+    }
+
+    /**
+     * Gets the status of the node as the GUI shows it, taking the agent
+     * on the node into account
+     * @return status to display
+     */
+    public Status getDisplayStatus(){
+        Status status = getNodeStatus();
+        Agent agent = getNodeAgent();
+        if(agent != null && status == Status.ON_FIRE){
+            return Status.CASUALTY;
+        }else if(agent != null && status == Status.CLOSE_TO_FIRE){
+            return Status.FORTIFIED;
+        }else if(agent != null){
+            return Status.OCCUPIED;
         }
-        setChanged();
-        notifyObservers(status);
+        return status;
     }
 }
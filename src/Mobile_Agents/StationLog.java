@@ -0,0 +1,190 @@
+package Mobile_Agents;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Class: StationLog
+ * Description: Append-only log of the reports received by the fire station.
+ *              Reports are kept in a linked list of fixed size chunks, so an
+ *              append costs O(1) and never copies earlier entries. Readers
+ *              subscribe with a Cursor that hands them only the reports
+ *              appended since their last poll, without taking a lock.
+ *
+ *              With a spill file every report is also written to disk and only
+ *              the most recent chunks stay in memory, which bounds the memory
+ *              of a long simulation. Cursors that are behind keep the chunks
+ *              they still have to read alive on their own. The spill file is
+ *              flushed whenever a chunk is dropped from memory, so a report
+ *              is always either in memory or on disk.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class StationLog implements Closeable {
+    private static final int CHUNK_SIZE = 256;
+    private static final int RETAINED_CHUNKS = 16;
+
+    private final BufferedWriter spill;
+    private volatile Chunk head;
+    private Chunk tail;
+    private int chunks = 1;
+    private volatile long size;
+
+    /**
+     * Creates a log kept entirely in memory.
+     */
+    public StationLog() {
+        this.spill = null;
+        this.head = new Chunk(0);
+        this.tail = head;
+    }
+
+    /**
+     * Creates a log that writes every report to a spill file and keeps only
+     * the most recent reports in memory.
+     * @param spillFile file receiving the reports, truncated if it exists
+     */
+    public StationLog(Path spillFile) {
+        try {
+            this.spill = Files.newBufferedWriter(spillFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.head = new Chunk(0);
+        this.tail = head;
+    }
+
+    /**
+     * Appends a report. The entry is visible to cursors once this returns.
+     * @param report report received by the station
+     */
+    public synchronized void append(Report report) {
+        long index = size;
+        if (index - tail.base == CHUNK_SIZE) {
+            Chunk next = new Chunk(index);
+            tail.next = next;
+            tail = next;
+            if (spill != null && ++chunks > RETAINED_CHUNKS) {
+                flushSpill();
+                head = head.next;
+                chunks--;
+            }
+        }
+        tail.entries[(int) (index - tail.base)] = report;
+        size = index + 1;
+        if (spill != null) {
+            try {
+                spill.write(report.toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    //Writes the buffered reports through to the spill file.
+    private void flushSpill() {
+        try {
+            spill.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the number of reports appended so far, including the ones that
+     * were only kept in the spill file.
+     * @return report count
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Subscribes to the log.
+     * @return cursor positioned at the oldest report still in memory
+     */
+    public Cursor subscribe() {
+        return new Cursor(head);
+    }
+
+    /**
+     * Flushes and closes the spill file, if any.
+     */
+    @Override
+    public synchronized void close() {
+        if (spill != null) {
+            try {
+                spill.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * String representation of the reports still in memory
+     */
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder();
+        subscribe().poll(str::append);
+        return str.toString();
+    }
+
+    /**
+     * Position of one reader in the log. A cursor belongs to a single
+     * reader thread.
+     */
+    public final class Cursor {
+        private Chunk chunk;
+        private long position;
+
+        private Cursor(Chunk chunk) {
+            this.chunk = chunk;
+            this.position = chunk.base;
+        }
+
+        /**
+         * Hands every report appended since the last poll to the consumer.
+         * @param consumer receiver of the new reports, in order
+         * @return number of reports handed over
+         */
+        public int poll(Consumer<? super Report> consumer) {
+            long end = size;
+            int polled = 0;
+            while (position < end) {
+                if (position - chunk.base == CHUNK_SIZE) {
+                    chunk = chunk.next;
+                }
+                consumer.accept(chunk.entries[(int) (position - chunk.base)]);
+                position++;
+                polled++;
+            }
+            return polled;
+        }
+
+        /**
+         * Gets the index of the next report this cursor will read
+         * @return position in the log
+         */
+        public long position() {
+            return position;
+        }
+    }
+
+    //Block of consecutive reports, base is the index of its first entry.
+    //Entries and next are published by the volatile write of size.
+    private static final class Chunk {
+        final long base;
+        final Report[] entries = new Report[CHUNK_SIZE];
+        Chunk next;
+
+        Chunk(long base) {
+            this.base = base;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package Mobile_Agents.bench;
+
+import Mobile_Agents.runtime.BlockingMailbox;
+import Mobile_Agents.runtime.Mailbox;
+import Mobile_Agents.runtime.MpscMailbox;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+/**
+ * Class: MailboxBenchmark
+ * Description: Measures mailbox throughput with 1, 8 and 64 producer threads
+ *              feeding one consumer that drains in batches, the way nodes use
+ *              their inbox. Compares MpscMailbox against the LinkedBlockingQueue
+ *              backed BlockingMailbox and prints the median of several rounds.
+ *
+ *              Usage: MailboxBenchmark [messages]
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class MailboxBenchmark {
+    private static final int[] PRODUCERS = {1, 8, 64};
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 5;
+    private static final int BATCH_SIZE = 64;
+    private static final Object MESSAGE = new Object();
+
+    public static void main(String[] args) throws InterruptedException {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        System.out.println("mailbox,producers,messages_per_second");
+        for (int producers : PRODUCERS) {
+            report("LinkedBlockingQueue", producers, messages, BlockingMailbox::new);
+            report("MpscMailbox", producers, messages, MpscMailbox::new);
+        }
+    }
+
+    private static void report(String name, int producers, int messages,
+                               Supplier<Mailbox<Object>> mailboxes) throws InterruptedException {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            run(mailboxes.get(), producers, messages);
+        }
+        double[] rates = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long nanos = run(mailboxes.get(), producers, messages);
+            rates[round] = messages * 1e9 / nanos;
+        }
+        Arrays.sort(rates);
+        System.out.printf("%s,%d,%.0f%n", name, producers, rates[ROUNDS / 2]);
+    }
+
+    //Runs one round and returns the time taken to consume every message.
+    private static long run(Mailbox<Object> mailbox, int producers, int messages)
+            throws InterruptedException {
+        int perProducer = messages / producers;
+        int total = perProducer * producers;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            Thread producer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int k = 0; k < perProducer; k++) {
+                    mailbox.offer(MESSAGE);
+                }
+            });
+            producer.start();
+            threads.add(producer);
+        }
+
+        List<Object> batch = new ArrayList<>(BATCH_SIZE);
+        long begin = System.nanoTime();
+        start.countDown();
+        int consumed = 0;
+        while (consumed < total) {
+            int drained = mailbox.drainTo(batch, BATCH_SIZE);
+            if (drained == 0) {
+                mailbox.take();
+                drained = 1;
+            }
+            consumed += drained;
+            batch.clear();
+        }
+        long nanos = System.nanoTime() - begin;
+        for (Thread producer : threads) {
+            producer.join();
+        }
+        return nanos;
+    }
+}
@@ -0,0 +1,189 @@
+package Mobile_Agents.bench;
+
+import Mobile_Agents.SensorNetwork;
+import Mobile_Agents.graph.Adjacency;
+import Mobile_Agents.graph.ChannelBuilder;
+import Mobile_Agents.reader.ConfigReader;
+import Mobile_Agents.reader.GraphFile;
+import Mobile_Agents.reader.GraphParser;
+import Mobile_Agents.runtime.DiscreteEventExecutor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Class: SimulationBenchmark
+ * Description: Times the hot paths of a simulation on config files and on
+ *              synthetic grids: parsing the config, building the channels,
+ *              loading a ConfigReader, and running the fire on the discrete
+ *              event executor until every node has burned. Each measurement
+ *              is the median of several rounds after warmup rounds.
+ *
+ *              Usage: SimulationBenchmark [--rounds N] [--warmup N]
+ *                                         [--simulate-up-to NODES] target...
+ *              A target is a config file or grid:N for a synthetic grid of
+ *              about N nodes. Graphs larger than --simulate-up-to are only
+ *              loaded, not simulated.
+ *
+ *              Prints CSV lines benchmark,graph,nodes,median_ms,per_second
+ *              where per_second is nodes per second for loading and
+ *              messages per second for the simulation.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class SimulationBenchmark {
+    private static final int BACKUP_CHANNELS = 2;
+    private static final long HORIZON_MILLIS = 24L * 3_600_000;
+    private static final long LATENCY_MILLIS = 10;
+
+    private int rounds = 5;
+    private int warmup = 3;
+    private int simulateUpTo = 100_000;
+
+    public static void main(String[] args) throws IOException {
+        SimulationBenchmark benchmark = new SimulationBenchmark();
+        List<String> targets = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--rounds": {
+                    benchmark.rounds = Integer.parseInt(args[++i]);
+                    break;
+                }
+                case "--warmup": {
+                    benchmark.warmup = Integer.parseInt(args[++i]);
+                    break;
+                }
+                case "--simulate-up-to": {
+                    benchmark.simulateUpTo = Integer.parseInt(args[++i]);
+                    break;
+                }
+                default: {
+                    targets.add(args[i]);
+                }
+            }
+        }
+        if (targets.isEmpty() || benchmark.rounds < 1) {
+            System.err.println("Usage: SimulationBenchmark [--rounds N] [--warmup N] "
+                    + "[--simulate-up-to NODES] target...");
+            System.exit(1);
+        }
+
+        System.out.println("benchmark,graph,nodes,median_ms,per_second");
+        for (String target : targets) {
+            if (target.startsWith("grid:")) {
+                Path file = Files.createTempFile("grid", ".txt");
+                try {
+                    writeGrid(file, Integer.parseInt(target.substring(5)));
+                    benchmark.run(target, file);
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            } else {
+                benchmark.run(target, Paths.get(target));
+            }
+        }
+    }
+
+    private void run(String name, Path file) throws IOException {
+        GraphFile graph = GraphParser.parse(file);
+        int nodes = graph.getTopology().size();
+        Adjacency neighbors = graph.getTopology().neighbors();
+
+        double parse = median(() -> GraphParser.parse(file));
+        print("parse", name, nodes, parse, nodes);
+
+        double channels = median(() -> {
+            int[] distances = ChannelBuilder.distances(neighbors, graph.getStations());
+            ChannelBuilder.channels(neighbors, distances, BACKUP_CHANNELS, new Random(0));
+        });
+        print("channels", name, nodes, channels, nodes);
+
+        double load = median(() -> new ConfigReader(file.toString(), new Random(0)));
+        print("load", name, nodes, load, nodes);
+
+        if (nodes <= simulateUpTo) {
+            long[] messages = new long[1];
+            for (int round = 0; round < warmup; round++) {
+                simulate(file, messages);
+            }
+            double[] millis = new double[rounds];
+            for (int round = 0; round < rounds; round++) {
+                millis[round] = simulate(file, messages) / 1e6;
+            }
+            Arrays.sort(millis);
+            print("simulate", name, nodes, millis[rounds / 2], messages[0]);
+        }
+    }
+
+    //Burns the whole graph, storing the number of messages processed, and
+    //returns the nanoseconds spent simulating. Loading is not timed.
+    private static long simulate(Path file, long[] messagesOut) {
+        ConfigReader configReader = new ConfigReader(file.toString(), new Random(0));
+        SensorNetwork network = configReader.getNetwork();
+        DiscreteEventExecutor executor = new DiscreteEventExecutor(0, LATENCY_MILLIS);
+        long begin = System.nanoTime();
+        for (int id = 0; id < network.size(); id++) {
+            network.node(id).start(executor);
+        }
+        configReader.ignite();
+        configReader.dispatch();
+        executor.run(HORIZON_MILLIS);
+        long nanos = System.nanoTime() - begin;
+        long messages = 0;
+        for (int id = 0; id < network.size(); id++) {
+            messages += network.node(id).getMessagesReceived();
+        }
+        messagesOut[0] = messages;
+        return nanos;
+    }
+
+    private double median(Task task) throws IOException {
+        for (int round = 0; round < warmup; round++) {
+            task.run();
+        }
+        double[] millis = new double[rounds];
+        for (int round = 0; round < rounds; round++) {
+            long begin = System.nanoTime();
+            task.run();
+            millis[round] = (System.nanoTime() - begin) / 1e6;
+        }
+        Arrays.sort(millis);
+        return millis[rounds / 2];
+    }
+
+    private static void print(String benchmark, String graph, int nodes, double millis, long count) {
+        System.out.printf("%s,%s,%d,%.3f,%.0f%n", benchmark, graph, nodes, millis,
+                count * 1000 / Math.max(millis, 1e-3));
+    }
+
+    //Writes a square grid of about n nodes with 4-neighbor edges, the
+    //station in one corner and the fire in the opposite one.
+    private static void writeGrid(Path file, int n) throws IOException {
+        int side = Math.max(2, (int) Math.ceil(Math.sqrt(n)));
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            for (int y = 0; y < side; y++) {
+                for (int x = 0; x < side; x++) {
+                    out.write("node " + x + " " + y + "\n");
+                }
+            }
+            for (int y = 0; y < side; y++) {
+                for (int x = 0; x < side; x++) {
+                    if (x + 1 < side) out.write("edge " + x + " " + y + " " + (x + 1) + " " + y + "\n");
+                    if (y + 1 < side) out.write("edge " + x + " " + y + " " + x + " " + (y + 1) + "\n");
+                }
+            }
+            out.write("station 0 0\n");
+            out.write("fire " + (side - 1) + " " + (side - 1) + "\n");
+        }
+    }
+
+    private interface Task {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,258 @@
+package Mobile_Agents.distributed;
+
+import Mobile_Agents.SensorNetwork;
+import Mobile_Agents.SensorNode;
+import Mobile_Agents.headless.RunSummary;
+import Mobile_Agents.reader.ConfigReader;
+import Mobile_Agents.runtime.ActorExecutor;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Class: DistributedRunner
+ * Description: Headless entry point of a distributed simulation. Every process
+ *              loads the whole config, keeps the partition of its rank and
+ *              exchanges the messages crossing partitions over NioTransport.
+ *              A process stops once all of its nodes burned or the duration
+ *              passed, and prints one RunSummary row for its partition.
+ *              Its connections are closed only once the other processes
+ *              are done sending to it, or the duration passed again.
+ *
+ *              Usage: DistributedRunner --rank R --hosts HOST:PORT,... [options] config
+ *                     DistributedRunner --processes N [--port P] [options] config
+ *              Options: [--seed S] [--partition tiles|edge-cut] [--actors SPEC]
+ *                       [--duration MILLIS]
+ *              With --hosts this process is rank R of the listed processes,
+ *              all of which must be given the same config, seed and options.
+ *              With --processes N processes are started on the loopback
+ *              interface from port P on, and their rows are printed together.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class DistributedRunner {
+    private static final int DEFAULT_PORT = 7400;
+    private static final long DEFAULT_DURATION_MILLIS = 600_000;
+    private static final long CONNECT_TIMEOUT_MILLIS = 60_000;
+    private static final long POLL_MILLIS = 100;
+    private static final long GRACE_MILLIS = 2_000;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int rank = -1;
+        int processes = 0;
+        int port = DEFAULT_PORT;
+        String hosts = null;
+        long seed = 0;
+        String partitioning = "edge-cut";
+        String actors = null;
+        long durationMillis = DEFAULT_DURATION_MILLIS;
+        String config = null;
+        List<String> options = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--rank": {
+                    rank = Integer.parseInt(args[++i]);
+                    break;
+                }
+                case "--hosts": {
+                    hosts = args[++i];
+                    break;
+                }
+                case "--processes": {
+                    processes = Integer.parseInt(args[++i]);
+                    break;
+                }
+                case "--port": {
+                    port = Integer.parseInt(args[++i]);
+                    break;
+                }
+                case "--seed": {
+                    seed = Long.parseLong(args[++i]);
+                    options.add(args[i - 1]);
+                    options.add(args[i]);
+                    break;
+                }
+                case "--partition": {
+                    partitioning = args[++i];
+                    options.add(args[i - 1]);
+                    options.add(args[i]);
+                    break;
+                }
+                case "--actors": {
+                    actors = args[++i];
+                    options.add(args[i - 1]);
+                    options.add(args[i]);
+                    break;
+                }
+                case "--duration": {
+                    durationMillis = Long.parseLong(args[++i]);
+                    options.add(args[i - 1]);
+                    options.add(args[i]);
+                    break;
+                }
+                default: {
+                    config = args[i];
+                }
+            }
+        }
+        boolean worker = rank >= 0 && hosts != null;
+        if (config == null || worker == processes > 0 || (!worker && processes < 1)) {
+            System.err.println("Usage: DistributedRunner --rank R --hosts HOST:PORT,... [options] config");
+            System.err.println("       DistributedRunner --processes N [--port P] [options] config");
+            System.err.println("Options: [--seed S] [--partition tiles|edge-cut] [--actors SPEC] "
+                    + "[--duration MILLIS]");
+            System.exit(1);
+        }
+
+        if (worker) {
+            System.out.println(run(config, seed, addresses(hosts), rank, partitioning, actors,
+                    durationMillis));
+        } else {
+            launch(config, processes, port, options);
+        }
+    }
+
+    /**
+     * Runs the partition of one process to its end.
+     * @param config config file in the ConfigReader format
+     * @param seed seed for the channels, the same in every process
+     * @param addresses address of every process, by rank
+     * @param rank rank of this process
+     * @param partitioning Partitioner method
+     * @param actors ActorExecutor description, null for the default
+     * @param durationMillis longest time to run
+     * @return summary of this partition
+     */
+    public static RunSummary run(String config, long seed, InetSocketAddress[] addresses, int rank,
+                                 String partitioning, String actors, long durationMillis)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        ConfigReader configReader = new ConfigReader(config, new Random(seed),
+                topology -> Partition.create(partitioning, topology, addresses.length, rank));
+        SensorNetwork network = configReader.getNetwork();
+        NioTransport transport = new NioTransport(network, addresses);
+        network.setTransport(transport);
+        transport.connect(CONNECT_TIMEOUT_MILLIS);
+
+        ActorExecutor executor = ActorExecutor.create(actors, network.getTopology());
+        long ignition = executor.currentTimeMillis();
+        for (int id = 0; id < network.size(); id++) {
+            if (network.isLocal(id)) {
+                network.node(id).start(executor);
+            }
+        }
+        configReader.ignite();
+        configReader.dispatch();
+        while (executor.currentTimeMillis() - ignition < durationMillis && !burnedOut(network)) {
+            Thread.sleep(POLL_MILLIS);
+        }
+        long simulatedMillis = executor.currentTimeMillis() - ignition;
+        Thread.sleep(GRACE_MILLIS);
+
+        int agentsCreated = 0;
+        int casualties = 0;
+        int burned = 0;
+        long messages = 0;
+        for (int id = 0; id < network.size(); id++) {
+            if (!network.isLocal(id)) {
+                continue;
+            }
+            SensorNode sensorNode = network.node(id);
+            agentsCreated += sensorNode.getAgentsCreated();
+            messages += sensorNode.getMessagesReceived();
+            if (sensorNode.getNodeStatus() == SensorNode.Status.ON_FIRE) {
+                burned++;
+                if (sensorNode.getNodeAgent() != null) {
+                    casualties++;
+                }
+            }
+        }
+        long firstReport = configReader.getFirstReportTime();
+        transport.close(durationMillis);
+        executor.shutdown();
+        System.err.println("Process " + rank + ": " + transport.getFramesSent() + " frames sent in "
+                + transport.getWrites() + " writes, " + transport.getFramesReceived() + " received");
+        long wallMillis = (System.nanoTime() - start) / 1_000_000;
+        return new RunSummary(config + "#" + rank, seed, firstReport < 0 ? -1 : firstReport - ignition,
+                agentsCreated, casualties, messages, burned, network.getPartition().getLocalCount(),
+                simulatedMillis, wallMillis);
+    }
+
+    //Whether every node of this process has burned.
+    private static boolean burnedOut(SensorNetwork network) {
+        for (int id = 0; id < network.size(); id++) {
+            if (network.isLocal(id) && network.node(id).getNodeStatus() != SensorNode.Status.ON_FIRE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static InetSocketAddress[] addresses(String hosts) {
+        String[] entries = hosts.split(",");
+        InetSocketAddress[] addresses = new InetSocketAddress[entries.length];
+        for (int rank = 0; rank < entries.length; rank++) {
+            int colon = entries[rank].lastIndexOf(':');
+            addresses[rank] = new InetSocketAddress(entries[rank].substring(0, colon),
+                    Integer.parseInt(entries[rank].substring(colon + 1)));
+        }
+        return addresses;
+    }
+
+    //Starts every process on the loopback interface with the classpath and
+    //mobile_agents properties of this JVM, and prints their rows in rank
+    //order once they are done.
+    private static void launch(String config, int processes, int port, List<String> options)
+            throws IOException, InterruptedException {
+        StringBuilder hosts = new StringBuilder();
+        for (int rank = 0; rank < processes; rank++) {
+            hosts.append(rank == 0 ? "" : ",").append("127.0.0.1:").append(port + rank);
+        }
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<Process> children = new ArrayList<>();
+        for (int rank = 0; rank < processes; rank++) {
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            for (String property : System.getProperties().stringPropertyNames()) {
+                if (property.startsWith("mobile_agents.")) {
+                    command.add("-D" + property + "=" + System.getProperty(property));
+                }
+            }
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(DistributedRunner.class.getName());
+            command.add("--rank");
+            command.add(Integer.toString(rank));
+            command.add("--hosts");
+            command.add(hosts.toString());
+            command.addAll(options);
+            command.add(config);
+            children.add(new ProcessBuilder(command)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT).start());
+        }
+
+        System.out.println(RunSummary.HEADER);
+        int failed = 0;
+        for (Process child : children) {
+            try (BufferedReader output = new BufferedReader(new InputStreamReader(child.getInputStream()))) {
+                String line;
+                while ((line = output.readLine()) != null) {
+                    System.out.println(line);
+                }
+            }
+            if (child.waitFor() != 0) {
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            System.err.println(failed + " of " + processes + " processes failed");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package Mobile_Agents.distributed;
+
+import Mobile_Agents.Message;
+import Mobile_Agents.NodeDeath;
+import Mobile_Agents.Report;
+import Mobile_Agents.ReportBatch;
+import Mobile_Agents.RouteUpdate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Class: MessageCodec
+ * Description: Binary form of the messages crossing processes. A message is
+ *              its type as one byte followed by its fields, control signals
+ *              have none and decode to their shared instance.
+ *
+ *              NODE_DEATH     burned node
+ *              CREATION       name (int length, UTF-8 bytes), creation time,
+ *                             x, y, hops, closest cost, stalled hops
+ *              ROUTE_UPDATE   sender, cost, next hop
+ *              REPORT_BATCH   count, then every report as a CREATION without
+ *                             its type
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class MessageCodec {
+    private static final Message.Type[] TYPES = Message.Type.values();
+    private static final int REPORT_FIELDS = Long.BYTES + 5 * Integer.BYTES;
+
+    private MessageCodec() {
+    }
+
+    /**
+     * Gets an upper bound of the encoded size of a message
+     * @param message message to encode
+     * @return bytes needed at most
+     */
+    public static int maxSize(Message message) {
+        switch (message.getMessageType()) {
+            case CREATION: return 1 + maxSize((Report) message);
+            case NODE_DEATH: return 1 + Integer.BYTES;
+            case ROUTE_UPDATE: return 1 + 3 * Integer.BYTES;
+            case REPORT_BATCH: {
+                ReportBatch batch = (ReportBatch) message;
+                int size = 1 + Integer.BYTES;
+                for (int k = 0; k < batch.size(); k++) {
+                    size += maxSize(batch.get(k));
+                }
+                return size;
+            }
+            default: return 1;
+        }
+    }
+
+    /**
+     * Writes a message at the position of the buffer
+     * @param buffer buffer with at least maxSize(message) bytes remaining
+     * @param message message to encode
+     */
+    public static void write(ByteBuffer buffer, Message message) {
+        buffer.put((byte) message.getMessageType().ordinal());
+        switch (message.getMessageType()) {
+            case NODE_DEATH: {
+                buffer.putInt(((NodeDeath) message).getFrom());
+                break;
+            }
+            case CREATION: {
+                write(buffer, (Report) message);
+                break;
+            }
+            case ROUTE_UPDATE: {
+                RouteUpdate update = (RouteUpdate) message;
+                buffer.putInt(update.getFrom());
+                buffer.putInt(update.getCost());
+                buffer.putInt(update.getVia());
+                break;
+            }
+            case REPORT_BATCH: {
+                ReportBatch batch = (ReportBatch) message;
+                buffer.putInt(batch.size());
+                for (int k = 0; k < batch.size(); k++) {
+                    write(buffer, batch.get(k));
+                }
+                break;
+            }
+            default:
+        }
+    }
+
+    /**
+     * Reads a message at the position of the buffer
+     * @param buffer buffer holding a whole encoded message
+     * @return decoded message
+     */
+    public static Message read(ByteBuffer buffer) {
+        Message.Type type = TYPES[buffer.get()];
+        switch (type) {
+            case NODE_DEATH: return new NodeDeath(buffer.getInt());
+            case CREATION: return readReport(buffer);
+            case ROUTE_UPDATE: return new RouteUpdate(buffer.getInt(), buffer.getInt(), buffer.getInt());
+            case REPORT_BATCH: {
+                Report[] reports = new Report[buffer.getInt()];
+                for (int k = 0; k < reports.length; k++) {
+                    reports[k] = readReport(buffer);
+                }
+                return new ReportBatch(reports);
+            }
+            default: return Message.of(type);
+        }
+    }
+
+    //A UTF-8 character takes at most three bytes per char of the name.
+    private static int maxSize(Report report) {
+        return Integer.BYTES + 3 * report.getAgentName().length() + REPORT_FIELDS;
+    }
+
+    private static void write(ByteBuffer buffer, Report report) {
+        byte[] name = report.getAgentName().getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(name.length);
+        buffer.put(name);
+        buffer.putLong(report.getAgentTimeCreation());
+        buffer.putInt(report.getX());
+        buffer.putInt(report.getY());
+        buffer.putInt(report.getHopCount());
+        buffer.putInt(report.getClosestCost());
+        buffer.putInt(report.getStalledHops());
+    }
+
+    private static Report readReport(ByteBuffer buffer) {
+        byte[] name = new byte[buffer.getInt()];
+        buffer.get(name);
+        return new Report(new String(name, StandardCharsets.UTF_8), buffer.getLong(),
+                buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+    }
+}
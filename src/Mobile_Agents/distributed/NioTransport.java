@@ -0,0 +1,500 @@
+package Mobile_Agents.distributed;
+
+import Mobile_Agents.Message;
+import Mobile_Agents.SensorNetwork;
+import Mobile_Agents.SensorNode;
+import Mobile_Agents.graph.Adjacency;
+import Mobile_Agents.runtime.Mailbox;
+import Mobile_Agents.runtime.MpscMailbox;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Class: NioTransport
+ * Description: Carries the messages of a distributed simulation between its
+ *              processes, one TCP connection per pair of processes. Ghost
+ *              nodes hand their messages to send(), boundary nodes their new
+ *              status to status(), and the frames received are delivered to
+ *              the local nodes.
+ *
+ *              Every frame is its length as an int followed by its kind, the
+ *              id of the node it is for and, for a message, the message as
+ *              MessageCodec writes it or, for a status, the status ordinal.
+ *              A bye frame has no body, it is the last frame of a process.
+ *
+ *              Senders only queue their frames on an MpscMailbox per peer and
+ *              wake the selector thread up, once until it runs again. That
+ *              thread encodes every queued frame into one buffer per peer and
+ *              writes it with a single call, so a burst of messages costs a
+ *              few system calls. A peer whose socket is full keeps its frames
+ *              queued until the socket is writable again.
+ *
+ *              Closing sends a bye after the frames still queued and keeps
+ *              reading until every peer has said bye too, so no process
+ *              closes its connections while another is still sending.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class NioTransport implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long RETRY_MILLIS = 50;
+    private static final byte MESSAGE = 0;
+    private static final byte STATUS = 1;
+    private static final byte HELLO = 2;
+    private static final byte BYE = 3;
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+    private static final int HEADER = Integer.BYTES + 1 + Integer.BYTES;
+    private static final SensorNode.Status[] STATUSES = SensorNode.Status.values();
+
+    private final SensorNetwork network;
+    private final Partition partition;
+    private final InetSocketAddress[] addresses;
+    private final Peer[] peers;
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private Selector selector;
+    private Thread loop;
+    private volatile boolean running;
+    private volatile boolean closing;
+    private volatile long framesSent;
+    private volatile long framesReceived;
+    private volatile long writes;
+
+    /**
+     * @param network network of this process
+     * @param addresses address of every process, by rank
+     */
+    public NioTransport(SensorNetwork network, InetSocketAddress[] addresses) {
+        this.network = network;
+        this.partition = network.getPartition();
+        this.addresses = addresses;
+        this.peers = new Peer[partition.getProcesses()];
+        if (addresses.length != peers.length) {
+            throw new IllegalArgumentException(addresses.length + " addresses for "
+                    + peers.length + " processes");
+        }
+    }
+
+    /**
+     * Connects to every other process and starts the selector thread. A
+     * process connects to the lower ranks and accepts the higher ones, each
+     * connection starting with the rank of the connecting side.
+     * @param timeoutMillis longest time to wait for the other processes
+     * @throws IOException if a process cannot be reached in time
+     */
+    public void connect(long timeoutMillis) throws IOException {
+        int rank = partition.getRank();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(addresses[rank]);
+            server.configureBlocking(false);
+            for (int peer = 0; peer < rank; peer++) {
+                SocketChannel channel = connect(addresses[peer], deadline);
+                ByteBuffer hello = ByteBuffer.allocate(HEADER);
+                hello.putInt(HEADER - Integer.BYTES).put(HELLO).putInt(rank).flip();
+                while (hello.hasRemaining()) {
+                    channel.write(hello);
+                }
+                peers[peer] = new Peer(peer, channel);
+            }
+            for (int accepted = rank + 1; accepted < peers.length; accepted++) {
+                SocketChannel channel;
+                while ((channel = server.accept()) == null) {
+                    waitUntil(deadline, "process " + accepted);
+                }
+                ByteBuffer hello = ByteBuffer.allocate(HEADER);
+                while (hello.hasRemaining()) {
+                    if (channel.read(hello) < 0) {
+                        throw new IOException("Connection closed before its hello");
+                    }
+                }
+                int peer = hello.getInt(Integer.BYTES + 1);
+                if (hello.get(Integer.BYTES) != HELLO || peer <= rank || peer >= peers.length
+                        || peers[peer] != null) {
+                    throw new IOException("Unexpected hello from " + channel.getRemoteAddress());
+                }
+                peers[peer] = new Peer(peer, channel);
+            }
+        }
+        selector = Selector.open();
+        for (Peer peer : peers) {
+            if (peer != null) {
+                peer.channel.configureBlocking(false);
+                peer.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                peer.key = peer.channel.register(selector, SelectionKey.OP_READ, peer);
+            }
+        }
+        running = true;
+        loop = new Thread(this::run, "transport-" + rank);
+        loop.setDaemon(true);
+        loop.start();
+    }
+
+    /**
+     * Sends a message to a node hosted by another process
+     * @param node id of the remote node
+     * @param message message for the node
+     */
+    public void send(int node, Message message) {
+        Peer peer = peers[partition.owner(node)];
+        if (peer.open && !closing) {
+            peer.queue.offer(new Frame(MESSAGE, node, message, null));
+            wakeup();
+        }
+    }
+
+    /**
+     * Sends the new status of a boundary node to every process hosting one
+     * of its neighbors, to update the ghosts of the node there
+     * @param node id of the local node
+     * @param status new status of the node
+     */
+    public void status(int node, SensorNode.Status status) {
+        if (closing) {
+            return;
+        }
+        Adjacency neighbors = network.getTopology().neighbors();
+        for (int k = neighbors.start(node); k < neighbors.end(node); k++) {
+            int owner = partition.owner(neighbors.target(k));
+            if (owner != partition.getRank() && !sentTo(neighbors, node, k, owner) && peers[owner].open) {
+                peers[owner].queue.offer(new Frame(STATUS, node, null, status));
+            }
+        }
+        wakeup();
+    }
+
+    /**
+     * Gets the number of frames sent so far
+     * @return frame count
+     */
+    public long getFramesSent() {
+        return framesSent;
+    }
+
+    /**
+     * Gets the number of frames received so far
+     * @return frame count
+     */
+    public long getFramesReceived() {
+        return framesReceived;
+    }
+
+    /**
+     * Gets the number of socket writes so far, frames per write is the
+     * effect of the batching
+     * @return write count
+     */
+    public long getWrites() {
+        return writes;
+    }
+
+    /**
+     * Closes the connections once they are drained, waiting at most the
+     * default time for the other processes
+     */
+    @Override
+    public void close() throws IOException {
+        close(CLOSE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Sends a bye to every process after the frames already queued, keeps
+     * delivering what arrives until every process has said bye too, then
+     * stops the selector thread and closes the connections. Frames sent
+     * after the bye are dropped.
+     * @param timeoutMillis longest time to wait for the other processes
+     */
+    public void close(long timeoutMillis) throws IOException {
+        if (selector != null) {
+            closing = true;
+            for (Peer peer : peers) {
+                if (peer != null && peer.open) {
+                    peer.queue.offer(new Frame(BYE, -1, null, null));
+                }
+            }
+            selector.wakeup();
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            while (!drained() && System.currentTimeMillis() < deadline) {
+                try {
+                    Thread.sleep(RETRY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        running = false;
+        if (selector != null) {
+            selector.wakeup();
+            try {
+                loop.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            selector.close();
+        }
+        for (Peer peer : peers) {
+            if (peer != null) {
+                peer.channel.close();
+            }
+        }
+    }
+
+    //Whether every peer still connected has both sent its bye and got ours.
+    private boolean drained() {
+        for (Peer peer : peers) {
+            if (peer != null && peer.open && !(peer.byeSent && peer.byeReceived)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //Whether an earlier neighbor of the node has the same owner, so every
+    //process gets a status once without any allocation.
+    private boolean sentTo(Adjacency neighbors, int node, int slot, int owner) {
+        for (int k = neighbors.start(node); k < slot; k++) {
+            if (partition.owner(neighbors.target(k)) == owner) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void wakeup() {
+        if (wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    private static SocketChannel connect(InetSocketAddress address, long deadline) throws IOException {
+        while (true) {
+            try {
+                return SocketChannel.open(address);
+            } catch (IOException e) {
+                waitUntil(deadline, address.toString());
+            }
+        }
+    }
+
+    private static void waitUntil(long deadline, String what) throws IOException {
+        if (System.currentTimeMillis() > deadline) {
+            throw new IOException("Timed out waiting for " + what);
+        }
+        try {
+            Thread.sleep(RETRY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for " + what);
+        }
+    }
+
+    //Selector loop, reads whatever arrived then writes whatever was queued.
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+                wakeupPending.set(false);
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (key.isValid() && key.isReadable()) {
+                        read((Peer) key.attachment());
+                    }
+                }
+                selector.selectedKeys().clear();
+                for (Peer peer : peers) {
+                    if (peer != null && peer.open) {
+                        write(peer);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            if (running) {
+                System.err.println("Transport stopped: " + e);
+            }
+        }
+    }
+
+    //Reads from a peer and delivers every whole frame. The buffer grows
+    //when a frame does not fit.
+    private void read(Peer peer) {
+        ByteBuffer in = peer.in;
+        try {
+            if (peer.channel.read(in) < 0) {
+                disconnect(peer, null);
+                return;
+            }
+        } catch (IOException e) {
+            disconnect(peer, e);
+            return;
+        }
+        in.flip();
+        while (in.remaining() >= Integer.BYTES) {
+            int length = in.getInt(in.position());
+            if (in.remaining() < Integer.BYTES + length) {
+                break;
+            }
+            in.position(in.position() + Integer.BYTES);
+            int end = in.position() + length;
+            deliver(peer, in);
+            in.position(end);
+            framesReceived++;
+        }
+        in.compact();
+        if (in.position() >= Integer.BYTES) {
+            int needed = Integer.BYTES + in.getInt(0);
+            if (needed > in.capacity()) {
+                peer.in = grow(in, needed);
+            }
+        }
+    }
+
+    private void deliver(Peer peer, ByteBuffer in) {
+        byte kind = in.get();
+        int node = in.getInt();
+        if (kind == MESSAGE) {
+            network.node(node).putInInbox(MessageCodec.read(in));
+        } else if (kind == STATUS) {
+            network.node(node).setRemoteStatus(STATUSES[in.get()]);
+        } else if (kind == BYE) {
+            peer.byeReceived = true;
+        }
+    }
+
+    //Moves the queued frames of a peer into its buffer, writing the buffer
+    //out whenever it is full, until the queue is empty or the socket is.
+    private void write(Peer peer) {
+        try {
+            while (true) {
+                if (peer.held == null) {
+                    peer.held = peer.queue.poll();
+                    if (peer.held == null) {
+                        break;
+                    }
+                }
+                int size = peer.held.maxSize();
+                if (peer.out.remaining() < size) {
+                    if (!drain(peer)) {
+                        return;
+                    }
+                    if (peer.out.remaining() < size) {
+                        peer.out = grow(peer.out, size);
+                    }
+                }
+                peer.byeEncoded |= peer.held.kind == BYE;
+                peer.held.encode(peer.out);
+                peer.held = null;
+                framesSent++;
+            }
+            if (drain(peer) && peer.byeEncoded) {
+                peer.byeSent = true;
+            }
+        } catch (IOException e) {
+            disconnect(peer, e);
+        }
+    }
+
+    //Writes the buffer of a peer, true once it is empty. A socket that
+    //takes only part of it is watched until it is writable again.
+    private boolean drain(Peer peer) throws IOException {
+        ByteBuffer out = peer.out;
+        if (out.position() == 0) {
+            return true;
+        }
+        out.flip();
+        peer.channel.write(out);
+        writes++;
+        boolean done = !out.hasRemaining();
+        out.compact();
+        peer.key.interestOps(done ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        return done;
+    }
+
+    //A lost process takes its nodes with it, the others keep running.
+    private void disconnect(Peer peer, IOException cause) {
+        if (cause != null && running) {
+            System.err.println("Lost process " + peer.rank + ": " + cause);
+        }
+        peer.open = false;
+        peer.key.cancel();
+        try {
+            peer.channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(2 * buffer.capacity(),
+                buffer.position() + needed));
+        buffer.flip();
+        grown.put(buffer);
+        return grown;
+    }
+
+    /*
+     * Connection to another process. The queue and the bye flags are
+     * shared with the other threads, everything else belongs to the
+     * selector thread.
+     */
+    private static final class Peer {
+        private final int rank;
+        private final SocketChannel channel;
+        private final Mailbox<Frame> queue = new MpscMailbox<>();
+        private ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private SelectionKey key;
+        private Frame held;
+        private boolean byeEncoded;
+        private volatile boolean open = true;
+        private volatile boolean byeSent;
+        private volatile boolean byeReceived;
+
+        private Peer(int rank, SocketChannel channel) {
+            this.rank = rank;
+            this.channel = channel;
+        }
+    }
+
+    /*
+     * Frame waiting to be encoded, a message or a status for a node or a
+     * bye.
+     */
+    private static final class Frame {
+        private final byte kind;
+        private final int node;
+        private final Message message;
+        private final SensorNode.Status status;
+
+        private Frame(byte kind, int node, Message message, SensorNode.Status status) {
+            this.kind = kind;
+            this.node = node;
+            this.message = message;
+            this.status = status;
+        }
+
+        private int maxSize() {
+            if (kind == BYE) {
+                return HEADER;
+            }
+            return HEADER + (kind == MESSAGE ? MessageCodec.maxSize(message) : 1);
+        }
+
+        //Writes the frame, its length is filled in once the body is written.
+        private void encode(ByteBuffer out) {
+            int start = out.position();
+            out.putInt(0).put(kind).putInt(node);
+            if (kind == MESSAGE) {
+                MessageCodec.write(out, message);
+            } else if (kind == STATUS) {
+                out.put((byte) status.ordinal());
+            }
+            out.putInt(start, out.position() - start - Integer.BYTES);
+        }
+    }
+}
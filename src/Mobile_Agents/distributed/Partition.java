@@ -0,0 +1,87 @@
+package Mobile_Agents.distributed;
+
+import Mobile_Agents.graph.Partitioner;
+import Mobile_Agents.graph.Topology;
+
+/**
+ * Class: Partition
+ * Description: Split of the network between the processes of a distributed
+ *              simulation. Every process loads the same topology and computes
+ *              the same split, so each one knows the owner of every node
+ *              without asking the others. A process only hosts the sensor
+ *              nodes and agents of its own rank.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class Partition {
+    private final int[] owner;
+    private final int processes;
+    private final int rank;
+    private final int localCount;
+
+    /**
+     * @param owner rank of the process owning every node
+     * @param processes number of processes
+     * @param rank rank of this process
+     */
+    public Partition(int[] owner, int processes, int rank) {
+        if (rank < 0 || rank >= processes) {
+            throw new IllegalArgumentException("Rank " + rank + " out of " + processes + " processes");
+        }
+        this.owner = owner;
+        this.processes = processes;
+        this.rank = rank;
+        int count = 0;
+        for (int process : owner) {
+            if (process == rank) {
+                count++;
+            }
+        }
+        this.localCount = count;
+    }
+
+    /**
+     * Splits a topology with a Partitioner method, one part per process.
+     * @param method tiles or edge-cut
+     * @param topology topology to split
+     * @param processes number of processes
+     * @param rank rank of this process
+     * @return partition seen from this process
+     */
+    public static Partition create(String method, Topology topology, int processes, int rank) {
+        return new Partition(Partitioner.create(method, topology, processes), processes, rank);
+    }
+
+    /**
+     * Gets the rank of the process owning a node
+     * @param id node id
+     * @return owner rank
+     */
+    public int owner(int id) {
+        return owner[id];
+    }
+
+    /**
+     * Checks whether this process hosts a node
+     * @param id node id
+     * @return true if the node is local
+     */
+    public boolean isLocal(int id) {
+        return owner[id] == rank;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public int getProcesses() {
+        return processes;
+    }
+
+    /**
+     * Gets the number of nodes hosted by this process
+     * @return local node count
+     */
+    public int getLocalCount() {
+        return localCount;
+    }
+}
@@ -0,0 +1,40 @@
+package Mobile_Agents.event;
+
+/**
+ * Class: AgentCreated
+ * Description: An agent was created on a sensor node.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public final class AgentCreated {
+    private final String agentName;
+    private final int nodeId;
+    private final long time;
+
+    /**
+     * @param agentName name of the agent
+     * @param nodeId id of the node the agent was created on
+     * @param time time of creation in milliseconds
+     */
+    public AgentCreated(String agentName, int nodeId, long time) {
+        this.agentName = agentName;
+        this.nodeId = nodeId;
+        this.time = time;
+    }
+
+    public String getAgentName() {
+        return agentName;
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public String toString() {
+        return "AgentCreated[" + agentName + ", " + nodeId + ", " + time + "]";
+    }
+}
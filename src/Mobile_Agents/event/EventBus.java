@@ -0,0 +1,153 @@
+package Mobile_Agents.event;
+
+import Mobile_Agents.runtime.Mailbox;
+import Mobile_Agents.runtime.MpscMailbox;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Class: EventBus
+ * Description: Typed publish/subscribe bus for simulation events. Listeners
+ *              subscribe to one event class and are held in copy-on-write
+ *              arrays swapped with a CAS, so publishing takes no lock and a
+ *              type nobody listens to costs one map lookup.
+ *
+ *              A synchronous bus calls listeners on the publishing thread. An
+ *              asynchronous bus queues events in an MpscMailbox and delivers
+ *              them in order on its own daemon thread, so simulation threads
+ *              never wait for a listener.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class EventBus {
+    private final ConcurrentHashMap<Class<?>, AtomicReference<Consumer<?>[]>> listeners =
+            new ConcurrentHashMap<>();
+    private final Mailbox<Object> queue;
+    private final Thread dispatcher;
+
+    /**
+     * Creates a synchronous bus.
+     */
+    public EventBus() {
+        this.queue = null;
+        this.dispatcher = null;
+    }
+
+    private EventBus(String threadName) {
+        this.queue = new MpscMailbox<>();
+        this.dispatcher = new Thread(this::dispatch, threadName);
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Creates a bus that delivers events on its own thread.
+     * @return asynchronous bus
+     */
+    public static EventBus asynchronous() {
+        return new EventBus("event-bus");
+    }
+
+    /**
+     * Registers a listener for one type of event. Safe to call from any
+     * thread, also while events are being published.
+     * @param type class of the events
+     * @param listener listener
+     * @return subscription cancelling the listener
+     */
+    public <E> Subscription subscribe(Class<E> type, Consumer<? super E> listener) {
+        AtomicReference<Consumer<?>[]> subscribers =
+                listeners.computeIfAbsent(type, key -> new AtomicReference<>(new Consumer<?>[0]));
+        Consumer<?>[] current, updated;
+        do {
+            current = subscribers.get();
+            updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = listener;
+        } while (!subscribers.compareAndSet(current, updated));
+        return () -> unsubscribe(subscribers, listener);
+    }
+
+    /**
+     * Checks whether anyone listens to a type of event, so publishers can
+     * skip creating events nobody receives.
+     * @param type class of the events
+     * @return true if the type has a listener
+     */
+    public boolean hasSubscribers(Class<?> type) {
+        AtomicReference<Consumer<?>[]> subscribers = listeners.get(type);
+        return subscribers != null && subscribers.get().length > 0;
+    }
+
+    /**
+     * Delivers an event to the listeners of its class.
+     * @param event event
+     */
+    public void publish(Object event) {
+        if (queue != null) {
+            queue.offer(event);
+        } else {
+            deliver(event);
+        }
+    }
+
+    /**
+     * Stops the dispatcher thread of an asynchronous bus, queued events are
+     * dropped.
+     */
+    public void shutdown() {
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliver(Object event) {
+        AtomicReference<Consumer<?>[]> subscribers = listeners.get(event.getClass());
+        if (subscribers == null) return;
+        for (Consumer<?> listener : subscribers.get()) {
+            ((Consumer<Object>) listener).accept(event);
+        }
+    }
+
+    private void dispatch() {
+        try {
+            while (true) {
+                deliver(queue.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void unsubscribe(AtomicReference<Consumer<?>[]> subscribers, Consumer<?> listener) {
+        Consumer<?>[] current, updated;
+        do {
+            current = subscribers.get();
+            int index = -1;
+            for (int k = 0; k < current.length; k++) {
+                if (current[k] == listener) {
+                    index = k;
+                    break;
+                }
+            }
+            if (index < 0) return;
+            updated = new Consumer<?>[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, updated.length - index);
+        } while (!subscribers.compareAndSet(current, updated));
+    }
+
+    /**
+     * Interface: Subscription
+     * Description: Handle of a registered listener.
+     */
+    public interface Subscription {
+
+        /**
+         * Removes the listener, it receives no events published afterwards.
+         */
+        void cancel();
+    }
+}
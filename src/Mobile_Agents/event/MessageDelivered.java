@@ -0,0 +1,53 @@
+package Mobile_Agents.event;
+
+import Mobile_Agents.Message;
+
+/**
+ * Class: MessageDelivered
+ * Description: A message was put into the inbox of a sensor node, or of
+ *              the agent residing on it. Only published when a trace is
+ *              replayed.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public final class MessageDelivered {
+    private final int nodeId;
+    private final Message.Type messageType;
+    private final long time;
+    private final boolean toAgent;
+
+    /**
+     * @param nodeId id of the receiving node, or of the node the receiving
+     *               agent resides on
+     * @param messageType type of the message
+     * @param time time of delivery in milliseconds
+     * @param toAgent true if the message went to the agent
+     */
+    public MessageDelivered(int nodeId, Message.Type messageType, long time, boolean toAgent) {
+        this.nodeId = nodeId;
+        this.messageType = messageType;
+        this.time = time;
+        this.toAgent = toAgent;
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public Message.Type getMessageType() {
+        return messageType;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public boolean isToAgent() {
+        return toAgent;
+    }
+
+    @Override
+    public String toString() {
+        return "MessageDelivered[" + nodeId + ", " + messageType + ", " + time
+                + (toAgent ? ", agent]" : "]");
+    }
+}
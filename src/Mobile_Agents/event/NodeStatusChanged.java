@@ -0,0 +1,35 @@
+package Mobile_Agents.event;
+
+import Mobile_Agents.SensorNode;
+
+/**
+ * Class: NodeStatusChanged
+ * Description: A sensor node changed the status it displays.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public final class NodeStatusChanged {
+    private final int nodeId;
+    private final SensorNode.Status status;
+
+    /**
+     * @param nodeId id of the node
+     * @param status status the node displays, agents included
+     */
+    public NodeStatusChanged(int nodeId, SensorNode.Status status) {
+        this.nodeId = nodeId;
+        this.status = status;
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public SensorNode.Status getStatus() {
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        return "NodeStatusChanged[" + nodeId + ", " + status + "]";
+    }
+}
@@ -0,0 +1,43 @@
+package Mobile_Agents.event;
+
+import Mobile_Agents.Report;
+
+/**
+ * Class: StationReport
+ * Description: The fire station received the report of an agent creation
+ *              and appended it to its log.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public final class StationReport {
+    private final int stationId;
+    private final Report report;
+    private final long time;
+
+    /**
+     * @param stationId id of the fire station node
+     * @param report report received
+     * @param time time of reception in milliseconds
+     */
+    public StationReport(int stationId, Report report, long time) {
+        this.stationId = stationId;
+        this.report = report;
+        this.time = time;
+    }
+
+    public int getStationId() {
+        return stationId;
+    }
+
+    public Report getReport() {
+        return report;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public String toString() {
+        return "StationReport[" + stationId + ", " + report.getAgentName() + ", " + time + "]";
+    }
+}
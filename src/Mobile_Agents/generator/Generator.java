@@ -0,0 +1,55 @@
+package Mobile_Agents.generator;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Class: Generator
+ * Description: Synthetic topology that can be regenerated piece by piece.
+ *              The coordinates and edges of any node are derived from the
+ *              seed and the node id alone, so a writer can stream a graph of
+ *              millions of nodes to disk without ever holding it in memory.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public abstract class Generator {
+    protected final long seed;
+
+    protected Generator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the number of nodes
+     * @return node count
+     */
+    public abstract int size();
+
+    /**
+     * Gets the x coordinate of a node
+     * @param id node id
+     * @return x coordinate
+     */
+    public abstract int x(int id);
+
+    /**
+     * Gets the y coordinate of a node
+     * @param id node id
+     * @return y coordinate
+     */
+    public abstract int y(int id);
+
+    /**
+     * Hands the other end of edges of a node to the consumer. Over all ids
+     * every undirected edge is handed out exactly once, from either end.
+     * @param id node id
+     * @param consumer receiver of the neighbor ids
+     */
+    public abstract void edges(int id, IntConsumer consumer);
+
+    //SplitMix64 finalizer, turns a seed and a key into well mixed bits.
+    protected static long mix(long seed, long key) {
+        long z = seed + key * 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,128 @@
+package Mobile_Agents.generator;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+
+/**
+ * Class: GeometricGenerator
+ * Description: Random geometric graph. The plane is cut into square cells
+ *              holding the same number of nodes at distinct random positions
+ *              drawn from a per cell seed, and nodes closer than a radius no
+ *              larger than a cell are linked. Node id / pointsPerCell is the
+ *              cell, so the position of any node is regenerated from its own
+ *              cell and its edges from the 3x3 cells around it.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class GeometricGenerator extends Generator {
+    protected static final int CELL_SIDE = 64;
+    private static final int CACHE_SIZE = 256;
+
+    protected final int pointsPerCell;
+    protected final int columns;
+    protected final int rows;
+    private final long radiusSquared;
+    private final int[] cachedCell = new int[CACHE_SIZE];
+    private final int[][] cachedPoints = new int[CACHE_SIZE][];
+
+    /**
+     * @param nodes smallest number of nodes, rounded up to whole cells
+     * @param degree expected number of neighbors of a node
+     * @param seed seed of the positions
+     */
+    public GeometricGenerator(int nodes, int degree, long seed) {
+        this(nodes, Math.max(1, (int) Math.ceil((degree + 1) / Math.PI)), degree + 1, seed);
+    }
+
+    //degree is the expected number of nodes within the radius, counting the
+    //node itself.
+    protected GeometricGenerator(int nodes, int pointsPerCell, double degree, long seed) {
+        super(seed);
+        this.pointsPerCell = pointsPerCell;
+        int cells = Math.max(1, (nodes + pointsPerCell - 1) / pointsPerCell);
+        this.columns = (int) Math.ceil(Math.sqrt(cells));
+        this.rows = (cells + columns - 1) / columns;
+        //A disk of radius r holds about pointsPerCell * pi * r^2 / CELL_SIDE^2
+        //nodes, the node itself included.
+        double radius = Math.min(1.0, Math.sqrt(degree / (pointsPerCell * Math.PI))) * CELL_SIDE;
+        this.radiusSquared = (long) (radius * radius);
+        Arrays.fill(cachedCell, -1);
+    }
+
+    @Override
+    public int size() {
+        return columns * rows * pointsPerCell;
+    }
+
+    @Override
+    public int x(int id) {
+        return points(id / pointsPerCell)[2 * (id % pointsPerCell)];
+    }
+
+    @Override
+    public int y(int id) {
+        return points(id / pointsPerCell)[2 * (id % pointsPerCell) + 1];
+    }
+
+    @Override
+    public void edges(int id, IntConsumer consumer) {
+        int cell = id / pointsPerCell;
+        int x = x(id);
+        int y = y(id);
+        forEachAround(cell, other -> {
+            if (other > id && distanceSquared(x, y, other) <= radiusSquared) {
+                consumer.accept(other);
+            }
+        });
+    }
+
+    //Hands every node of the 3x3 cells around a cell to the consumer.
+    protected void forEachAround(int cell, IntConsumer consumer) {
+        int column = cell % columns;
+        int row = cell / columns;
+        for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+            for (int c = Math.max(0, column - 1); c <= Math.min(columns - 1, column + 1); c++) {
+                int base = (r * columns + c) * pointsPerCell;
+                for (int k = 0; k < pointsPerCell; k++) {
+                    consumer.accept(base + k);
+                }
+            }
+        }
+    }
+
+    protected long distanceSquared(int x, int y, int other) {
+        long dx = x - x(other);
+        long dy = y - y(other);
+        return dx * dx + dy * dy;
+    }
+
+    //Positions of the nodes of a cell, x and y packed, drawn without
+    //repetition from the cell's own seed. Recently used cells are cached.
+    private int[] points(int cell) {
+        int slot = cell & (CACHE_SIZE - 1);
+        if (cachedCell[slot] == cell) {
+            return cachedPoints[slot];
+        }
+        SplittableRandom random = new SplittableRandom(mix(seed, cell));
+        int originX = (cell % columns) * CELL_SIDE;
+        int originY = (cell / columns) * CELL_SIDE;
+        int[] points = new int[2 * pointsPerCell];
+        for (int k = 0; k < pointsPerCell; k++) {
+            int px, py;
+            boolean taken;
+            do {
+                px = originX + random.nextInt(CELL_SIDE);
+                py = originY + random.nextInt(CELL_SIDE);
+                taken = false;
+                for (int j = 0; j < k && !taken; j++) {
+                    taken = points[2 * j] == px && points[2 * j + 1] == py;
+                }
+            } while (taken);
+            points[2 * k] = px;
+            points[2 * k + 1] = py;
+        }
+        cachedCell[slot] = cell;
+        cachedPoints[slot] = points;
+        return points;
+    }
+}
@@ -0,0 +1,52 @@
+package Mobile_Agents.generator;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Class: GridGenerator
+ * Description: Square grid of nodes one unit apart, linked to their 4 or 8
+ *              surrounding nodes.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class GridGenerator extends Generator {
+    private final int side;
+    private final boolean diagonals;
+
+    /**
+     * @param nodes smallest number of nodes, rounded up to a square
+     * @param degree 8 to link diagonal nodes, 4 otherwise
+     * @param seed unused, grids are regular
+     */
+    public GridGenerator(int nodes, int degree, long seed) {
+        super(seed);
+        this.side = Math.max(2, (int) Math.ceil(Math.sqrt(nodes)));
+        this.diagonals = degree >= 8;
+    }
+
+    @Override
+    public int size() {
+        return side * side;
+    }
+
+    @Override
+    public int x(int id) {
+        return id % side;
+    }
+
+    @Override
+    public int y(int id) {
+        return id / side;
+    }
+
+    @Override
+    public void edges(int id, IntConsumer consumer) {
+        int x = x(id);
+        int y = y(id);
+        if (x + 1 < side) consumer.accept(id + 1);
+        if (y + 1 < side) consumer.accept(id + side);
+        if (diagonals && y + 1 < side) {
+            if (x + 1 < side) consumer.accept(id + side + 1);
+            if (x > 0) consumer.accept(id + side - 1);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package Mobile_Agents.generator;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Class: KnnGenerator
+ * Description: k-nearest-neighbor graph over the cell layout of
+ *              GeometricGenerator. Every node is linked to the k closest
+ *              nodes of the 3x3 cells around it; an edge chosen by both of its
+ *              ends is handed out once, by the smaller id.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class KnnGenerator extends GeometricGenerator {
+    private final int k;
+    private final int[] nearest;
+    private final long[] distances;
+
+    /**
+     * @param nodes smallest number of nodes, rounded up to whole cells
+     * @param k number of nearest nodes each node links to
+     * @param seed seed of the positions
+     */
+    public KnnGenerator(int nodes, int k, long seed) {
+        super(nodes, Math.max(2, k), k, seed);
+        this.k = Math.max(1, k);
+        this.nearest = new int[this.k];
+        this.distances = new long[this.k];
+    }
+
+    @Override
+    public void edges(int id, IntConsumer consumer) {
+        int[] chosen = nearest(id).clone();
+        for (int other : chosen) {
+            if (other < 0) continue;
+            if (other > id || !contains(nearest(other), id)) {
+                consumer.accept(other);
+            }
+        }
+    }
+
+    //The k closest nodes around a node, -1 where there are fewer. The
+    //returned array is reused by the next call.
+    private int[] nearest(int id) {
+        Arrays.fill(nearest, -1);
+        Arrays.fill(distances, Long.MAX_VALUE);
+        int x = x(id);
+        int y = y(id);
+        forEachAround(id / pointsPerCell, other -> {
+            if (other == id) return;
+            long distance = distanceSquared(x, y, other);
+            if (distance >= distances[k - 1]) return;
+            //Insertion into the sorted list of the k best.
+            int position = k - 1;
+            while (position > 0 && distances[position - 1] > distance) {
+                distances[position] = distances[position - 1];
+                nearest[position] = nearest[position - 1];
+                position--;
+            }
+            distances[position] = distance;
+            nearest[position] = other;
+        });
+        return nearest;
+    }
+
+    private static boolean contains(int[] ids, int id) {
+        for (int value : ids) {
+            if (value == id) return true;
+        }
+        return false;
+    }
+}
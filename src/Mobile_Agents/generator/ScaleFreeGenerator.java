@@ -0,0 +1,79 @@
+package Mobile_Agents.generator;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Class: ScaleFreeGenerator
+ * Description: Barabasi-Albert graph. Every node links to m earlier nodes
+ *              chosen with probability proportional to their degree, by
+ *              picking a uniformly random end of an earlier edge. Instead of
+ *              keeping the list of edge ends, the end of edge e is recomputed
+ *              from a hash of the seed and e, following the chain of earlier
+ *              edges it copies, which is short on average. Nodes are laid
+ *              out on a square grid since the model has no geometry.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class ScaleFreeGenerator extends Generator {
+    private final int size;
+    private final int m;
+    private final int side;
+
+    /**
+     * @param nodes number of nodes
+     * @param degree average degree, each node adds degree / 2 edges
+     * @param seed seed of the attachment
+     */
+    public ScaleFreeGenerator(int nodes, int degree, long seed) {
+        super(seed);
+        this.size = Math.max(2, nodes);
+        this.m = Math.max(1, degree / 2);
+        this.side = (int) Math.ceil(Math.sqrt(size));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int x(int id) {
+        return id % side;
+    }
+
+    @Override
+    public int y(int id) {
+        return id / side;
+    }
+
+    //Edges of node t are t's own m choices, duplicates dropped.
+    @Override
+    public void edges(int id, IntConsumer consumer) {
+        if (id == 0) return;
+        long first = (long) (id - 1) * m;
+        for (int j = 0; j < m; j++) {
+            int target = target(first + j);
+            boolean duplicate = false;
+            for (int i = 0; i < j && !duplicate; i++) {
+                duplicate = target(first + i) == target;
+            }
+            if (!duplicate) consumer.accept(target);
+        }
+    }
+
+    //Source of edge e, edges are numbered m per node starting at node 1.
+    private int source(long edge) {
+        return (int) (edge / m) + 1;
+    }
+
+    //Target of edge e: a uniformly chosen end of an edge of an earlier node,
+    //following copied targets until a source is picked.
+    private int target(long edge) {
+        while (true) {
+            long earlier = (long) (source(edge) - 1) * m;
+            if (earlier == 0) return 0;
+            long end = Long.remainderUnsigned(mix(seed, edge), 2 * earlier);
+            if ((end & 1) == 0) return source(end >>> 1);
+            edge = end >>> 1;
+        }
+    }
+}
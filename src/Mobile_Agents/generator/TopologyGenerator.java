@@ -0,0 +1,218 @@
+package Mobile_Agents.generator;
+
+import Mobile_Agents.reader.GraphCache;
+import Mobile_Agents.reader.GraphParser;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class: TopologyGenerator
+ * Description: Writes synthetic config files for scale testing. Nodes and
+ *              edges are streamed from a Generator one id at a time, so the
+ *              text of a graph of millions of nodes is written in constant
+ *              memory. With --binary the config is converted into a
+ *              GraphCache snapshot that ConfigReader loads directly.
+ *
+ *              Usage: TopologyGenerator --type grid|geometric|knn|scale-free
+ *                                       --nodes N [--degree D] [--seed S]
+ *                                       [--station PLACE] [--fire PLACE]
+ *                                       [--binary] output
+ *              PLACE is first, last, center, random or a node id. By default
+ *              the station is the first node and the fire the last one.
+ *              --station may be repeated to place several fire stations.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class TopologyGenerator {
+    private static final String USAGE = "Usage: TopologyGenerator --type grid|geometric|knn|scale-free "
+            + "--nodes N [--degree D] [--seed S] [--station PLACE] [--fire PLACE] [--binary] output";
+
+    public static void main(String[] args) throws IOException {
+        String type = null;
+        int nodes = 0;
+        int degree = 4;
+        long seed = 0;
+        List<String> stations = new ArrayList<>();
+        String fire = "last";
+        boolean binary = false;
+        String output = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--type": {
+                    type = args[++i];
+                    break;
+                }
+                case "--nodes": {
+                    nodes = Integer.parseInt(args[++i]);
+                    break;
+                }
+                case "--degree": {
+                    degree = Integer.parseInt(args[++i]);
+                    break;
+                }
+                case "--seed": {
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                }
+                case "--station": {
+                    stations.add(args[++i]);
+                    break;
+                }
+                case "--fire": {
+                    fire = args[++i];
+                    break;
+                }
+                case "--binary": {
+                    binary = true;
+                    break;
+                }
+                default: {
+                    output = args[i];
+                }
+            }
+        }
+        if (type == null || nodes < 2 || output == null) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+
+        if (stations.isEmpty()) {
+            stations.add("first");
+        }
+
+        Generator generator = create(type, nodes, degree, seed);
+        int[] stationIds = new int[stations.size()];
+        for (int k = 0; k < stationIds.length; k++) {
+            stationIds[k] = place(generator, stations.get(k), k == 0 ? seed : seed + 1 + k);
+        }
+        int fireId = place(generator, fire, seed + 1);
+        Path path = Paths.get(output);
+        if (binary) {
+            Path text = Files.createTempFile(path.toAbsolutePath().getParent(), "topology", ".txt");
+            try {
+                write(generator, stationIds, fireId, text);
+                GraphCache.write(GraphParser.parse(text), path);
+            } finally {
+                Files.deleteIfExists(text);
+            }
+        } else {
+            write(generator, stationIds, fireId, path);
+        }
+    }
+
+    /**
+     * Creates a generator by name.
+     * @param type grid, geometric, knn or scale-free
+     * @param nodes number of nodes, some generators round it up
+     * @param degree target degree of a node
+     * @param seed seed of the random choices
+     * @return generator
+     */
+    public static Generator create(String type, int nodes, int degree, long seed) {
+        switch (type) {
+            case "grid": return new GridGenerator(nodes, degree, seed);
+            case "geometric": return new GeometricGenerator(nodes, degree, seed);
+            case "knn": return new KnnGenerator(nodes, degree, seed);
+            case "scale-free": return new ScaleFreeGenerator(nodes, degree, seed);
+            default: throw new IllegalArgumentException("Unknown topology " + type);
+        }
+    }
+
+    /**
+     * Streams a generated topology to a config file.
+     * @param generator topology
+     * @param stations ids of the fire stations
+     * @param fire id of the node the fire starts on
+     * @param path config file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Generator generator, int[] stations, int fire, Path path)
+            throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path)) {
+            for (int id = 0; id < generator.size(); id++) {
+                out.write("node ");
+                writeLocation(out, generator, id);
+                out.write('\n');
+            }
+            IOException[] failure = new IOException[1];
+            for (int id = 0; id < generator.size(); id++) {
+                int from = id;
+                generator.edges(id, to -> {
+                    if (failure[0] != null) return;
+                    try {
+                        out.write("edge ");
+                        writeLocation(out, generator, from);
+                        out.write(' ');
+                        writeLocation(out, generator, to);
+                        out.write('\n');
+                    } catch (IOException e) {
+                        failure[0] = e;
+                    }
+                });
+                if (failure[0] != null) throw failure[0];
+            }
+            for (int station : stations) {
+                out.write("station ");
+                writeLocation(out, generator, station);
+                out.write('\n');
+            }
+            out.write("fire ");
+            writeLocation(out, generator, fire);
+            out.write('\n');
+        }
+    }
+
+    private static void writeLocation(Writer out, Generator generator, int id) throws IOException {
+        out.write(Integer.toString(generator.x(id)));
+        out.write(' ');
+        out.write(Integer.toString(generator.y(id)));
+    }
+
+    //Resolves a placement to a node id. The center is the node closest to
+    //the middle of the bounding box, found in two streaming passes.
+    private static int place(Generator generator, String place, long seed) {
+        int size = generator.size();
+        switch (place) {
+            case "first": return 0;
+            case "last": return size - 1;
+            case "random": return (int) Long.remainderUnsigned(Generator.mix(seed, size), size);
+            case "center": {
+                long minX = Long.MAX_VALUE, minY = Long.MAX_VALUE;
+                long maxX = Long.MIN_VALUE, maxY = Long.MIN_VALUE;
+                for (int id = 0; id < size; id++) {
+                    minX = Math.min(minX, generator.x(id));
+                    minY = Math.min(minY, generator.y(id));
+                    maxX = Math.max(maxX, generator.x(id));
+                    maxY = Math.max(maxY, generator.y(id));
+                }
+                long middleX = (minX + maxX) / 2;
+                long middleY = (minY + maxY) / 2;
+                int best = 0;
+                long bestDistance = Long.MAX_VALUE;
+                for (int id = 0; id < size; id++) {
+                    long dx = generator.x(id) - middleX;
+                    long dy = generator.y(id) - middleY;
+                    if (dx * dx + dy * dy < bestDistance) {
+                        bestDistance = dx * dx + dy * dy;
+                        best = id;
+                    }
+                }
+                return best;
+            }
+            default: {
+                int id = Integer.parseInt(place);
+                if (id < 0 || id >= size) {
+                    throw new IllegalArgumentException("Node " + id + " is not in the topology");
+                }
+                return id;
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package Mobile_Agents.graph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Class: Adjacency
+ * Description: Immutable compressed sparse row adjacency. The targets of node
+ *              id are targets[offsets[id]] up to targets[offsets[id + 1]],
+ *              so a graph costs two int arrays instead of a list of objects
+ *              per node.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class Adjacency {
+    private final int[] offsets;
+    private final int[] targets;
+
+    /**
+     * Wraps existing arrays, offsets must hold size + 1 entries.
+     * @param offsets start of each node's targets
+     * @param targets concatenated targets
+     */
+    public Adjacency(int[] offsets, int[] targets) {
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Gets the number of nodes
+     * @return node count
+     */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Gets the number of directed edges
+     * @return edge count
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Gets the number of targets of a node
+     * @param id node id
+     * @return degree
+     */
+    public int degree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Gets the index of the first target of a node
+     * @param id node id
+     * @return start index, inclusive
+     */
+    public int start(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * Gets the index past the last target of a node
+     * @param id node id
+     * @return end index, exclusive
+     */
+    public int end(int id) {
+        return offsets[id + 1];
+    }
+
+    /**
+     * Gets the target stored at an index
+     * @param index index between start and end of a node
+     * @return target node id
+     */
+    public int target(int index) {
+        return targets[index];
+    }
+
+    /**
+     * Copies the targets of a node
+     * @param id node id
+     * @return new array of target ids
+     */
+    public int[] targets(int id) {
+        return Arrays.copyOfRange(targets, offsets[id], offsets[id + 1]);
+    }
+
+    /**
+     * Copies the targets of a node in random order, leaving the
+     * adjacency itself untouched
+     * @param id node id
+     * @param random source of random numbers
+     * @return new array of target ids
+     */
+    public int[] shuffledTargets(int id, Random random) {
+        int[] shuffled = targets(id);
+        for (int k = shuffled.length - 1; k > 0; k--) {
+            int swap = random.nextInt(k + 1);
+            int target = shuffled[k];
+            shuffled[k] = shuffled[swap];
+            shuffled[swap] = target;
+        }
+        return shuffled;
+    }
+
+    /**
+     * Gets the backing offsets, used to serialize the adjacency. The array
+     * must not be modified.
+     * @return offsets array of size + 1 entries
+     */
+    public int[] offsetArray() {
+        return offsets;
+    }
+
+    /**
+     * Gets the backing targets, used to serialize the adjacency. The array
+     * must not be modified.
+     * @return targets array
+     */
+    public int[] targetArray() {
+        return targets;
+    }
+
+    /**
+     * Checks whether an edge exists
+     * @param from source node id
+     * @param to target node id
+     * @return true if to is a target of from
+     */
+    public boolean contains(int from, int to) {
+        for (int k = offsets[from]; k < offsets[from + 1]; k++) {
+            if (targets[k] == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Class: Builder
+     * Description: Collects directed edges in any order and sorts them into
+     *              an Adjacency, keeping the order edges were added within
+     *              each node.
+     */
+    public static class Builder {
+        private final int size;
+        private int[] from = new int[16];
+        private int[] to = new int[16];
+        private int count;
+
+        /**
+         * @param size number of nodes
+         */
+        public Builder(int size) {
+            this.size = size;
+        }
+
+        /**
+         * Adds a directed edge
+         * @param source source node id
+         * @param target target node id
+         */
+        public void add(int source, int target) {
+            if (count == from.length) {
+                from = Arrays.copyOf(from, count * 2);
+                to = Arrays.copyOf(to, count * 2);
+            }
+            from[count] = source;
+            to[count] = target;
+            count++;
+        }
+
+        /**
+         * Sorts the edges by source
+         * @return immutable adjacency
+         */
+        public Adjacency build() {
+            int[] offsets = new int[size + 1];
+            for (int k = 0; k < count; k++) {
+                offsets[from[k] + 1]++;
+            }
+            for (int id = 0; id < size; id++) {
+                offsets[id + 1] += offsets[id];
+            }
+            int[] next = Arrays.copyOf(offsets, size);
+            int[] targets = new int[count];
+            for (int k = 0; k < count; k++) {
+                targets[next[from[k]]++] = to[k];
+            }
+            return new Adjacency(offsets, targets);
+        }
+    }
+}
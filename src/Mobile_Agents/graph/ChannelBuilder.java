@@ -0,0 +1,141 @@
+package Mobile_Agents.graph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Class: ChannelBuilder
+ * Description: Builds the channels back to the fire stations from a single
+ *              breadth first search started from every station at once. Every
+ *              node gets its shortest path parent as a channel plus up to a
+ *              number of backup parents, other neighbors one hop closer to a
+ *              station, all in O(V + E). With several stations the channels
+ *              form a forest and every node routes to its nearest station.
+ *
+ *              Backups are chosen so that their own first parents differ from
+ *              each other and from the first parent's, so one burned node two
+ *              hops up does not cut every channel of a node at once. Paths are
+ *              only disjoint for those two hops, they may merge further up, and
+ *              where the map offers too few such parents the remaining backups
+ *              share an ancestor.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class ChannelBuilder {
+
+    private ChannelBuilder() {
+    }
+
+    /**
+     * Computes the hop distance of every node to the nearest root.
+     * @param neighbors graph to search
+     * @param roots ids of the fire stations
+     * @return distance per node, -1 for nodes that cannot reach any root
+     */
+    public static int[] distances(Adjacency neighbors, int... roots) {
+        int[] distances = new int[neighbors.size()];
+        Arrays.fill(distances, -1);
+        int[] queue = new int[neighbors.size()];
+        int head = 0;
+        int tail = 0;
+        for (int root : roots) {
+            if (distances[root] < 0) {
+                distances[root] = 0;
+                queue[tail++] = root;
+            }
+        }
+        while (head < tail) {
+            int current = queue[head++];
+            for (int k = neighbors.start(current); k < neighbors.end(current); k++) {
+                int next = neighbors.target(k);
+                if (distances[next] < 0) {
+                    distances[next] = distances[current] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Picks the channels of every node among its neighbors that are one hop
+     * closer to a root, preferring backups whose first parents differ.
+     * @param neighbors graph the distances were computed on
+     * @param distances hop distance of every node to the nearest root
+     * @param backups number of parents kept on top of the first one
+     * @param random picks which parents are kept when there are more
+     * @return channel adjacency, the roots and unreachable nodes have none
+     */
+    public static Adjacency channels(Adjacency neighbors, int[] distances, int backups,
+                                     Random random) {
+        int size = neighbors.size();
+        Adjacency.Builder channels = new Adjacency.Builder(size);
+        //First parent of every node, known for the parents of a node since
+        //nodes are handled in order of distance.
+        int[] first = new int[size];
+        int[] kept = new int[backups + 1];
+        int[] ancestors = new int[backups + 1];
+        for (int id : byDistance(distances)) {
+            if (distances[id] <= 0) {
+                continue;
+            }
+            int[] parents = neighbors.shuffledTargets(id, random);
+            int count = 0;
+            for (int pass = 0; pass < 2 && count < kept.length; pass++) {
+                for (int parent : parents) {
+                    if (count == kept.length) {
+                        break;
+                    }
+                    if (distances[parent] != distances[id] - 1 || contains(kept, count, parent)) {
+                        continue;
+                    }
+                    int ancestor = distances[parent] == 0 ? parent : first[parent];
+                    if (pass == 0 && contains(ancestors, count, ancestor)) {
+                        continue;
+                    }
+                    kept[count] = parent;
+                    ancestors[count++] = ancestor;
+                }
+            }
+            for (int k = 0; k < count; k++) {
+                channels.add(id, kept[k]);
+            }
+            first[id] = kept[0];
+        }
+        return channels.build();
+    }
+
+    //Reachable node ids sorted by distance, a counting sort.
+    private static int[] byDistance(int[] distances) {
+        int max = -1;
+        for (int distance : distances) {
+            max = Math.max(max, distance);
+        }
+        int[] start = new int[max + 2];
+        for (int distance : distances) {
+            if (distance >= 0) {
+                start[distance + 1]++;
+            }
+        }
+        for (int d = 0; d <= max; d++) {
+            start[d + 1] += start[d];
+        }
+        int[] order = new int[start[max + 1]];
+        for (int id = 0; id < distances.length; id++) {
+            if (distances[id] >= 0) {
+                order[start[distances[id]]++] = id;
+            }
+        }
+        return order;
+    }
+
+    //Checks the first count values, guards against duplicate edges and
+    //shared ancestors.
+    private static boolean contains(int[] values, int count, int value) {
+        for (int k = 0; k < count; k++) {
+            if (values[k] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,130 @@
+package Mobile_Agents.graph;
+
+import java.util.Arrays;
+
+/**
+ * Class: CoordinateIndex
+ * Description: Map from the coordinates of a node to its id. Keys are x and y
+ *              packed into one long and kept in an open addressing table with
+ *              linear probing, so a lookup is a few array reads and allocates
+ *              nothing, unlike a HashMap keyed by Point or Long.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class CoordinateIndex {
+    private static final int MISSING = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates an empty index.
+     * @param expected number of nodes expected, the table grows past it
+     */
+    public CoordinateIndex(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(2, expected) * 2 - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Indexes every node of a topology. When two nodes share coordinates
+     * the first one is kept.
+     * @param topology topology to index
+     * @return index of the topology
+     */
+    public static CoordinateIndex of(Topology topology) {
+        CoordinateIndex index = new CoordinateIndex(topology.size());
+        for (int id = 0; id < topology.size(); id++) {
+            if (index.get(topology.x(id), topology.y(id)) == MISSING) {
+                index.put(topology.x(id), topology.y(id), id);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the id of the node at the given coordinates.
+     * @param x x coordinate
+     * @param y y coordinate
+     * @return node id, -1 if no node is there
+     */
+    public int get(int x, int y) {
+        long key = pack(x, y);
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            int value = values[slot];
+            if (value == MISSING || keys[slot] == key) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Maps the coordinates to a node id, replacing any previous id.
+     * @param x x coordinate
+     * @param y y coordinate
+     * @param id node id, not negative
+     */
+    public void put(int x, int y, int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Negative node id " + id);
+        }
+        if (2 * (size + 1) > values.length) {
+            grow();
+        }
+        insert(pack(x, y), id);
+    }
+
+    /**
+     * Gets the number of coordinates indexed
+     * @return entry count
+     */
+    public int size() {
+        return size;
+    }
+
+    private void insert(long key, int id) {
+        int slot = slot(key);
+        while (values[slot] != MISSING && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (values[slot] == MISSING) {
+            size++;
+        }
+        keys[slot] = key;
+        values[slot] = id;
+    }
+
+    //Doubles the table, keeping it at most half full.
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(values.length * 2);
+        size = 0;
+        for (int slot = 0; slot < oldValues.length; slot++) {
+            if (oldValues[slot] != MISSING) {
+                insert(oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, MISSING);
+        mask = capacity - 1;
+    }
+
+    //Spreads the packed coordinates over the table, neighboring nodes
+    //differ in few bits of their key.
+    private int slot(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+
+    private static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+}
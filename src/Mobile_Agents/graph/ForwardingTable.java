@@ -0,0 +1,216 @@
+package Mobile_Agents.graph;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Class: ForwardingTable
+ * Description: Next hops of every node toward its nearest fire station. Each
+ *              node keeps the cost to a station advertised by every neighbor,
+ *              one int per adjacency slot, plus the slots of its primary and
+ *              alternate next hops and its own cost. Forwarding reads the
+ *              primary, falls back to the alternate when the primary burned
+ *              and only rescans the neighbors once both are gone, so a report
+ *              costs O(1) per hop.
+ *
+ *              The death of a neighbor is applied at once: the neighbor is
+ *              dropped from the row and the row rerouted if it depended on it,
+ *              and the node advertises only if its own cost changed, so a
+ *              death reaches no further than the nodes whose cost it moves.
+ *
+ *              Other routes are repaired on demand: an advertisement only updates
+ *              the slot of its sender and marks the row stale when it touches
+ *              the primary or alternate or offers a shorter route. The row is
+ *              rescanned the next time the node forwards, and the node then
+ *              advertises its new cost if it changed. Repairs thus travel with
+ *              the reports instead of flooding the network, and a node cut off
+ *              from every station counts up only while reports still circle
+ *              it. A route is dropped past a limit that doubles as the time to
+ *              live of a report.
+ *
+ *              A row of the table belongs to its node, only the actor of that
+ *              node may read or change it.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class ForwardingTable {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int MIN_SLACK = 16;
+    private static final int NONE = -1;
+
+    private final Adjacency neighbors;
+    private final int[] advertised;
+    private final int[] cost;
+    private final int[] primary;
+    private final int[] alternate;
+    private final boolean[] stale;
+    private final int limit;
+
+    /**
+     * Builds the table from the breadth first search of the channels. The
+     * primary next hop is the first channel of a node, the alternate its
+     * second channel or, without one, its next best neighbor.
+     * @param neighbors graph of the network
+     * @param channels channels of every node, from ChannelBuilder
+     * @param distances hop distance of every node to the nearest station
+     */
+    public ForwardingTable(Adjacency neighbors, Adjacency channels, int[] distances) {
+        int size = neighbors.size();
+        this.neighbors = neighbors;
+        this.advertised = new int[neighbors.edgeCount()];
+        this.cost = new int[size];
+        this.primary = new int[size];
+        this.alternate = new int[size];
+        this.stale = new boolean[size];
+        int maxDistance = 0;
+        for (int distance : distances) {
+            maxDistance = Math.max(maxDistance, distance);
+        }
+        this.limit = Math.max(2 * maxDistance, maxDistance + MIN_SLACK);
+        for (int id = 0; id < size; id++) {
+            cost[id] = distances[id] < 0 ? UNREACHABLE : distances[id];
+            for (int k = neighbors.start(id); k < neighbors.end(id); k++) {
+                int distance = distances[neighbors.target(k)];
+                advertised[k] = distance < 0 ? UNREACHABLE : distance;
+            }
+            primary[id] = NONE;
+            alternate[id] = NONE;
+            int degree = channels.degree(id);
+            if (degree > 0) {
+                primary[id] = slot(id, channels.target(channels.start(id)));
+                alternate[id] = degree > 1 ? slot(id, channels.target(channels.start(id) + 1))
+                        : best(id, primary[id]);
+            }
+        }
+    }
+
+    /**
+     * Gets the neighbor a node forwards to, rescanning a stale row first. A
+     * next hop the predicate reports as gone is dropped from the node's row,
+     * the alternate takes over if it is as close to a station and the row is
+     * rescanned otherwise. The caller compares the cost of the node before
+     * and after to know whether to advertise it.
+     * @param id id of the forwarding node
+     * @param alive checks whether a neighbor can still receive
+     * @return next hop, -1 if the node has no route
+     */
+    public int nextHop(int id, IntPredicate alive) {
+        if (stale[id]) {
+            stale[id] = false;
+            reroute(id);
+        }
+        int k = primary[id];
+        while (k != NONE && !alive.test(neighbors.target(k))) {
+            advertised[k] = UNREACHABLE;
+            int next = alternate[id];
+            if (next != NONE && next != k && advertised[next] + 1 == cost[id]) {
+                primary[id] = next;
+                alternate[id] = NONE;
+            } else {
+                reroute(id);
+            }
+            k = primary[id];
+        }
+        return k == NONE ? NONE : neighbors.target(k);
+    }
+
+    /**
+     * Records the cost a neighbor advertised. The row of the node is marked
+     * stale if its routes depended on the neighbor or the neighbor offers a
+     * shorter one.
+     * @param id id of the node receiving the advertisement
+     * @param neighbor id of the advertising neighbor
+     * @param neighborCost advertised cost, UNREACHABLE for none
+     */
+    public void update(int id, int neighbor, int neighborCost) {
+        int k = slot(id, neighbor);
+        if (k == NONE || advertised[k] == neighborCost) {
+            return;
+        }
+        advertised[k] = neighborCost;
+        if (cost[id] != 0 && (k == primary[id] || k == alternate[id]
+                || (neighborCost != UNREACHABLE && neighborCost + 1 < cost[id]))) {
+            stale[id] = true;
+        }
+    }
+
+    /**
+     * Drops a burned neighbor from the row of a node, rerouting the row at
+     * once if its primary or alternate went through the neighbor.
+     * @param id id of the node told of the death
+     * @param neighbor id of the burned neighbor
+     * @return true if the cost of the node changed and has to be advertised
+     */
+    public boolean drop(int id, int neighbor) {
+        int k = slot(id, neighbor);
+        if (k == NONE || advertised[k] == UNREACHABLE) {
+            return false;
+        }
+        advertised[k] = UNREACHABLE;
+        if (cost[id] == 0 || (k != primary[id] && k != alternate[id])) {
+            return false;
+        }
+        int before = cost[id];
+        stale[id] = false;
+        reroute(id);
+        return cost[id] != before;
+    }
+
+    /**
+     * Gets the cost of a node, its number of hops to a station
+     * @param id node id
+     * @return cost, 0 for a station, UNREACHABLE without a route
+     */
+    public int cost(int id) {
+        return cost[id];
+    }
+
+    /**
+     * Gets the primary next hop of a node without checking it
+     * @param id node id
+     * @return next hop, -1 without a route
+     */
+    public int via(int id) {
+        return primary[id] == NONE ? NONE : neighbors.target(primary[id]);
+    }
+
+    /**
+     * Gets the largest cost a route may have, also the largest number of hops
+     * a report may make
+     * @return hop limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    //Picks the two cheapest neighbors.
+    private void reroute(int id) {
+        if (cost[id] == 0) {
+            return;
+        }
+        int first = best(id, NONE);
+        primary[id] = first;
+        alternate[id] = first == NONE ? NONE : best(id, first);
+        cost[id] = first == NONE ? UNREACHABLE : advertised[first] + 1;
+    }
+
+    //Cheapest reachable slot of a node other than the excluded one, -1 if
+    //none is under the limit.
+    private int best(int id, int excluded) {
+        int best = NONE;
+        for (int k = neighbors.start(id); k < neighbors.end(id); k++) {
+            if (k != excluded && advertised[k] < limit - 1
+                    && (best == NONE || advertised[k] < advertised[best])) {
+                best = k;
+            }
+        }
+        return best;
+    }
+
+    private int slot(int id, int neighbor) {
+        for (int k = neighbors.start(id); k < neighbors.end(id); k++) {
+            if (neighbors.target(k) == neighbor) {
+                return k;
+            }
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,204 @@
+package Mobile_Agents.graph;
+
+import java.util.Arrays;
+
+/**
+ * Class: Partitioner
+ * Description: Splits the nodes of a topology into shards of about the same
+ *              size, each run by one worker of a ShardedActorExecutor. Every
+ *              edge between two shards turns into messages crossing cores, so
+ *              both methods try to keep neighbors in the same shard:
+ *
+ *              tiles      cuts the map into columns of equal node count and
+ *                         every column into rows, for maps where neighbors are
+ *                         close in space.
+ *              edge-cut   grows the shards in breadth first order from a
+ *                         peripheral node, then moves boundary nodes to the
+ *                         shard holding most of their neighbors while no
+ *                         shard grows or shrinks past the allowed imbalance,
+ *                         for any graph.
+ *
+ *              A partition is an array giving the shard of every node id.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class Partitioner {
+    private static final int REFINE_PASSES = 4;
+    private static final int IMBALANCE_PERCENT = 5;
+
+    private Partitioner() {
+    }
+
+    /**
+     * Partitions a topology by name.
+     * @param method tiles or edge-cut
+     * @param topology topology to split
+     * @param shards number of shards
+     * @return shard of every node
+     */
+    public static int[] create(String method, Topology topology, int shards) {
+        switch (method) {
+            case "tiles": return tiles(topology, shards);
+            case "edge-cut": return edgeCut(topology, shards);
+            default: throw new IllegalArgumentException("Unknown partitioning " + method);
+        }
+    }
+
+    /**
+     * Splits the map into rectangular tiles holding the same number of nodes.
+     * @param topology topology to split
+     * @param shards number of shards
+     * @return shard of every node
+     */
+    public static int[] tiles(Topology topology, int shards) {
+        int size = topology.size();
+        int[] shardOf = new int[size];
+        int columns = (int) Math.ceil(Math.sqrt(shards));
+
+        //Sort keys hold a coordinate in the high half and the id in the low one.
+        long[] keys = new long[size];
+        for (int id = 0; id < size; id++) {
+            keys[id] = (long) topology.x(id) << 32 | id;
+        }
+        Arrays.sort(keys);
+        int shard = 0;
+        int from = 0;
+        for (int column = 0; column < columns; column++) {
+            int columnShards = shards / columns + (column < shards % columns ? 1 : 0);
+            int to = (int) ((long) size * (shard + columnShards) / shards);
+            for (int k = from; k < to; k++) {
+                int id = (int) keys[k];
+                keys[k] = (long) topology.y(id) << 32 | id;
+            }
+            Arrays.sort(keys, from, to);
+            int start = from;
+            for (int row = 0; row < columnShards; row++, shard++) {
+                int end = (int) ((long) size * (shard + 1) / shards);
+                for (int k = start; k < end; k++) {
+                    shardOf[(int) keys[k]] = shard;
+                }
+                start = end;
+            }
+            from = to;
+        }
+        return shardOf;
+    }
+
+    /**
+     * Splits the graph into connected runs of a breadth first order and
+     * refines the boundaries to cut fewer edges.
+     * @param topology topology to split
+     * @param shards number of shards
+     * @return shard of every node
+     */
+    public static int[] edgeCut(Topology topology, int shards) {
+        Adjacency neighbors = topology.neighbors();
+        int size = neighbors.size();
+        int[] order = new int[size];
+        int[] seen = new int[size];
+        int ordered = 0;
+        int component = 0;
+        for (int root = 0; root < size; root++) {
+            if (seen[root] != 0) {
+                continue;
+            }
+            //The last node reached from the root is far from it, starting
+            //from there gives thin layers and short boundaries.
+            component++;
+            int end = breadthFirst(neighbors, root, seen, -component, order, ordered);
+            ordered = breadthFirst(neighbors, order[end - 1], seen, component, order, ordered);
+        }
+
+        int[] shardOf = new int[size];
+        int[] sizes = new int[shards];
+        for (int k = 0; k < size; k++) {
+            int shard = (int) ((long) k * shards / size);
+            shardOf[order[k]] = shard;
+            sizes[shard]++;
+        }
+        refine(neighbors, shardOf, sizes);
+        return shardOf;
+    }
+
+    /**
+     * Counts the undirected edges whose ends are in different shards.
+     * @param neighbors graph that was partitioned
+     * @param shardOf shard of every node
+     * @return number of cut edges
+     */
+    public static long cutEdges(Adjacency neighbors, int[] shardOf) {
+        long cut = 0;
+        for (int id = 0; id < neighbors.size(); id++) {
+            for (int k = neighbors.start(id); k < neighbors.end(id); k++) {
+                int n = neighbors.target(k);
+                if (n > id && shardOf[n] != shardOf[id]) {
+                    cut++;
+                }
+            }
+        }
+        return cut;
+    }
+
+    //Appends the nodes reachable from start to the order, from index from,
+    //marking them with the stamp. Returns the index past the last one.
+    private static int breadthFirst(Adjacency neighbors, int start, int[] seen, int stamp,
+                                    int[] order, int from) {
+        int head = from;
+        int tail = from;
+        seen[start] = stamp;
+        order[tail++] = start;
+        while (head < tail) {
+            int current = order[head++];
+            for (int k = neighbors.start(current); k < neighbors.end(current); k++) {
+                int next = neighbors.target(k);
+                if (seen[next] != stamp) {
+                    seen[next] = stamp;
+                    order[tail++] = next;
+                }
+            }
+        }
+        return tail;
+    }
+
+    //Moves every node whose neighbors are mostly in another shard to that
+    //shard, unless either shard would leave the allowed imbalance. Without
+    //the lower bound a shard bordering many others is drained by all of them.
+    private static void refine(Adjacency neighbors, int[] shardOf, int[] sizes) {
+        int shards = sizes.length;
+        int capacity = (shardOf.length + shards - 1) / shards;
+        int max = capacity + capacity * IMBALANCE_PERCENT / 100 + 1;
+        int floor = shardOf.length / shards;
+        int min = floor - floor * IMBALANCE_PERCENT / 100 - 1;
+        int[] links = new int[shards];
+        for (int pass = 0; pass < REFINE_PASSES; pass++) {
+            int moved = 0;
+            for (int id = 0; id < shardOf.length; id++) {
+                int own = shardOf[id];
+                int best = own;
+                if (sizes[own] <= min) {
+                    continue;
+                }
+                for (int k = neighbors.start(id); k < neighbors.end(id); k++) {
+                    links[shardOf[neighbors.target(k)]]++;
+                }
+                for (int k = neighbors.start(id); k < neighbors.end(id); k++) {
+                    int shard = shardOf[neighbors.target(k)];
+                    if (links[shard] > links[best] && sizes[shard] < max) {
+                        best = shard;
+                    }
+                }
+                for (int k = neighbors.start(id); k < neighbors.end(id); k++) {
+                    links[shardOf[neighbors.target(k)]] = 0;
+                }
+                if (best != own) {
+                    shardOf[id] = best;
+                    sizes[own]--;
+                    sizes[best]++;
+                    moved++;
+                }
+            }
+            if (moved == 0) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package Mobile_Agents.graph;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Class: SpatialGrid
+ * Description: Uniform grid over the coordinates of a topology. Node ids are
+ *              bucketed by cell in a compressed array, so a rectangle or
+ *              nearest neighbor query only visits the cells around it instead
+ *              of every node.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class SpatialGrid {
+    private final Topology topology;
+    private final int minX;
+    private final int minY;
+    private final int maxX;
+    private final int maxY;
+    private final int cellSize;
+    private final int columns;
+    private final int rows;
+    private final int[] cellStart;
+    private final int[] ids;
+
+    /**
+     * Buckets every node of the topology, with cells sized so that there are
+     * about as many cells as nodes.
+     * @param topology topology to index
+     */
+    public SpatialGrid(Topology topology) {
+        this.topology = topology;
+        int size = topology.size();
+        int lowX = Integer.MAX_VALUE, lowY = Integer.MAX_VALUE;
+        int highX = Integer.MIN_VALUE, highY = Integer.MIN_VALUE;
+        for (int id = 0; id < size; id++) {
+            lowX = Math.min(lowX, topology.x(id));
+            lowY = Math.min(lowY, topology.y(id));
+            highX = Math.max(highX, topology.x(id));
+            highY = Math.max(highY, topology.y(id));
+        }
+        if (size == 0) {
+            lowX = lowY = highX = highY = 0;
+        }
+        this.minX = lowX;
+        this.minY = lowY;
+        this.maxX = highX;
+        this.maxY = highY;
+
+        double area = ((double) highX - lowX + 1) * ((double) highY - lowY + 1);
+        this.cellSize = (int) Math.max(1, Math.ceil(Math.sqrt(area / Math.max(1, size))));
+        this.columns = (int) (((long) highX - lowX) / cellSize + 1);
+        this.rows = (int) (((long) highY - lowY) / cellSize + 1);
+
+        //Counting sort of the ids by cell.
+        this.cellStart = new int[columns * rows + 1];
+        this.ids = new int[size];
+        for (int id = 0; id < size; id++) {
+            cellStart[cell(id) + 1]++;
+        }
+        for (int c = 0; c < columns * rows; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] fill = new int[columns * rows];
+        for (int id = 0; id < size; id++) {
+            int c = cell(id);
+            ids[cellStart[c] + fill[c]++] = id;
+        }
+    }
+
+    /**
+     * Hands every node inside a rectangle to the consumer.
+     * @param x0 smallest x, inclusive
+     * @param y0 smallest y, inclusive
+     * @param x1 largest x, inclusive
+     * @param y1 largest y, inclusive
+     * @param consumer receiver of the node ids
+     */
+    public void query(int x0, int y0, int x1, int y1, IntConsumer consumer) {
+        if (x0 > maxX || y0 > maxY || x1 < minX || y1 < minY) return;
+        int fromColumn = column(Math.max(x0, minX));
+        int toColumn = column(Math.min(x1, maxX));
+        int fromRow = row(Math.max(y0, minY));
+        int toRow = row(Math.min(y1, maxY));
+        for (int r = fromRow; r <= toRow; r++) {
+            for (int c = fromColumn; c <= toColumn; c++) {
+                int cell = r * columns + c;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int id = ids[k];
+                    int x = topology.x(id);
+                    int y = topology.y(id);
+                    if (x >= x0 && x <= x1 && y >= y0 && y <= y1) {
+                        consumer.accept(id);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the k nodes closest to a point, searching rings of cells outwards
+     * until no unvisited cell can hold a closer node. Ties are broken by id.
+     * @param x x of the point
+     * @param y y of the point
+     * @param k number of nodes wanted
+     * @param nearest receives the ids, closest first, needs room for k
+     * @return number of ids found, less than k only for small topologies
+     */
+    public int nearest(int x, int y, int k, int[] nearest) {
+        if (k <= 0 || ids.length == 0) return 0;
+        int column = column(Math.max(minX, Math.min(maxX, x)));
+        int row = row(Math.max(minY, Math.min(maxY, y)));
+        int count = 0;
+        int rings = Math.max(columns, rows);
+        for (int ring = 0; ring < rings; ring++) {
+            //Nodes in this ring are more than ring - 1 cells away on one axis.
+            if (count == k && ring > 0) {
+                long reach = (long) (ring - 1) * cellSize + 1;
+                if (reach * reach > distance(nearest[k - 1], x, y)) break;
+            }
+            for (int r = row - ring; r <= row + ring; r++) {
+                if (r < 0 || r >= rows) continue;
+                boolean edge = r == row - ring || r == row + ring;
+                for (int c = column - ring; c <= column + ring; c += edge ? 1 : Math.max(1, 2 * ring)) {
+                    if (c >= 0 && c < columns) {
+                        count = nearestInCell(r * columns + c, x, y, k, nearest, count);
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    public int getMinX() {
+        return minX;
+    }
+
+    public int getMinY() {
+        return minY;
+    }
+
+    public int getMaxX() {
+        return maxX;
+    }
+
+    public int getMaxY() {
+        return maxY;
+    }
+
+    //Inserts the nodes of a cell that beat the current k best, keeping them
+    //sorted by distance. Returns the new count.
+    private int nearestInCell(int cell, int x, int y, int k, int[] nearest, int count) {
+        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+            int id = ids[i];
+            if (count == k && !closer(id, nearest[k - 1], x, y)) continue;
+            int j = count < k ? count++ : k - 1;
+            while (j > 0 && closer(id, nearest[j - 1], x, y)) {
+                nearest[j] = nearest[j - 1];
+                j--;
+            }
+            nearest[j] = id;
+        }
+        return count;
+    }
+
+    private boolean closer(int a, int b, int x, int y) {
+        long da = distance(a, x, y);
+        long db = distance(b, x, y);
+        return da < db || (da == db && a < b);
+    }
+
+    //Squared Euclidean distance between a node and a point.
+    private long distance(int id, int x, int y) {
+        long dx = (long) topology.x(id) - x;
+        long dy = (long) topology.y(id) - y;
+        return dx * dx + dy * dy;
+    }
+
+    private int cell(int id) {
+        return row(topology.y(id)) * columns + column(topology.x(id));
+    }
+
+    private int column(int x) {
+        return (int) (((long) x - minX) / cellSize);
+    }
+
+    private int row(int y) {
+        return (int) (((long) y - minY) / cellSize);
+    }
+}
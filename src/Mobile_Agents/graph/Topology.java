@@ -0,0 +1,141 @@
+package Mobile_Agents.graph;
+
+import java.awt.Point;
+import java.util.Arrays;
+
+/**
+ * Class: Topology
+ * Description: Immutable description of the sensor network. Nodes are
+ *              identified by an int id, their coordinates are packed two ints
+ *              per node and their neighbors are held in an Adjacency.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class Topology {
+    private final int[] coordinates;
+    private final Adjacency neighbors;
+
+    /**
+     * @param coordinates x and y of node id at 2 * id and 2 * id + 1
+     * @param neighbors undirected edges stored in both directions
+     */
+    public Topology(int[] coordinates, Adjacency neighbors) {
+        this.coordinates = coordinates;
+        this.neighbors = neighbors;
+    }
+
+    /**
+     * Gets the number of nodes
+     * @return node count
+     */
+    public int size() {
+        return coordinates.length / 2;
+    }
+
+    /**
+     * Gets the x coordinate of a node
+     * @param id node id
+     * @return x coordinate
+     */
+    public int x(int id) {
+        return coordinates[2 * id];
+    }
+
+    /**
+     * Gets the y coordinate of a node
+     * @param id node id
+     * @return y coordinate
+     */
+    public int y(int id) {
+        return coordinates[2 * id + 1];
+    }
+
+    /**
+     * Creates a Point for the location of a node
+     * @param id node id
+     * @return new Point
+     */
+    public Point location(int id) {
+        return new Point(x(id), y(id));
+    }
+
+    /**
+     * Gets the neighbors of every node
+     * @return adjacency
+     */
+    public Adjacency neighbors() {
+        return neighbors;
+    }
+
+    /**
+     * Gets the backing coordinates, used to serialize the topology. The
+     * array must not be modified.
+     * @return x and y of every node
+     */
+    public int[] coordinateArray() {
+        return coordinates;
+    }
+
+    /**
+     * Class: Builder
+     * Description: Assigns ids to nodes in the order they are added and
+     *              collects undirected edges between them.
+     */
+    public static class Builder {
+        private int[] coordinates = new int[32];
+        private int size;
+        private int[] edges = new int[32];
+        private int edgeCount;
+
+        /**
+         * Adds a node
+         * @param x x coordinate
+         * @param y y coordinate
+         * @return id of the node
+         */
+        public int addNode(int x, int y) {
+            if (2 * size == coordinates.length) {
+                coordinates = Arrays.copyOf(coordinates, coordinates.length * 2);
+            }
+            coordinates[2 * size] = x;
+            coordinates[2 * size + 1] = y;
+            return size++;
+        }
+
+        /**
+         * Adds an undirected edge between two existing nodes
+         * @param a node id
+         * @param b node id
+         */
+        public void addEdge(int a, int b) {
+            if (2 * edgeCount == edges.length) {
+                edges = Arrays.copyOf(edges, edges.length * 2);
+            }
+            edges[2 * edgeCount] = a;
+            edges[2 * edgeCount + 1] = b;
+            edgeCount++;
+        }
+
+        /**
+         * Gets the number of nodes added so far
+         * @return node count
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Builds the compressed topology
+         * @return immutable topology
+         */
+        public Topology build() {
+            Adjacency.Builder adjacency = new Adjacency.Builder(size);
+            for (int k = 0; k < edgeCount; k++) {
+                int a = edges[2 * k];
+                int b = edges[2 * k + 1];
+                adjacency.add(a, b);
+                adjacency.add(b, a);
+            }
+            return new Topology(Arrays.copyOf(coordinates, 2 * size), adjacency.build());
+        }
+    }
+}
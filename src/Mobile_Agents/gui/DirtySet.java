@@ -0,0 +1,55 @@
+package Mobile_Agents.gui;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Class: DirtySet
+ * Description: Atomic bitset of node ids whose display has to be refreshed.
+ *              Simulation threads mark ids without locking, the FX thread
+ *              drains the set once per frame, so any number of changes to a
+ *              node between two frames cost a single repaint.
+ * @Contributer Tanner Randall Hunt
+ */
+public class DirtySet {
+    private final AtomicLongArray words;
+
+    /**
+     * @param size number of node ids
+     */
+    public DirtySet(int size) {
+        words = new AtomicLongArray((size + 63) >>> 6);
+    }
+
+    /**
+     * Marks a node as changed. Safe to call from any thread.
+     * @param id node id
+     */
+    public void mark(int id) {
+        int index = id >>> 6;
+        long bit = 1L << id;
+        long word = words.get(index);
+        while ((word & bit) == 0 && !words.compareAndSet(index, word, word | bit)) {
+            word = words.get(index);
+        }
+    }
+
+    /**
+     * Clears the set, handing every marked id to the consumer.
+     * @param consumer receiver of the changed ids
+     * @return number of ids drained
+     */
+    public int drain(IntConsumer consumer) {
+        int drained = 0;
+        for (int index = 0; index < words.length(); index++) {
+            if (words.get(index) == 0) continue;
+            long word = words.getAndSet(index, 0);
+            while (word != 0) {
+                consumer.accept((index << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+                drained++;
+            }
+        }
+        return drained;
+    }
+}
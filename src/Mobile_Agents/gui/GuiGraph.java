@@ -1,85 +1,314 @@
 package Mobile_Agents.gui;
 
+import Mobile_Agents.SensorNetwork;
 import Mobile_Agents.SensorNode;
-import javafx.geometry.Pos;
+import Mobile_Agents.event.NodeStatusChanged;
+import Mobile_Agents.graph.Adjacency;
+import Mobile_Agents.graph.SpatialGrid;
+import Mobile_Agents.graph.Topology;
+import javafx.animation.AnimationTimer;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.control.ScrollPane;
-import javafx.scene.layout.*;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import java.awt.*;
-import java.util.HashMap;
+import javafx.scene.shape.Rectangle;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Class: GuiGraph
- * Description: GridPane that holds senor nodes
+ * Description: Draws the sensor network on two canvases the size of the view,
+ *              the edges on a lower one and the nodes on top of them. Only the
+ *              nodes and edges inside the viewport are drawn: nodes and short
+ *              edges are found through a SpatialGrid, edges longer than
+ *              SHORT_EDGE are kept in a list and drawn when their bounding box
+ *              meets the viewport, so a few long edges do not widen the grid
+ *              query to the whole map. Dragging pans and scrolling zooms.
+ *              A single AnimationTimer repaints once per frame, either both
+ *              layers after a pan or zoom, or only the cells of the nodes that
+ *              changed; the edge layer is left as it is until the view moves.
+ *              Nodes are drawn with the last status published for them, so a
+ *              replayed trace is shown the same way as a live run. Hovering a
+ *              node shows its coordinates and status. The node is looked up
+ *              in the network's coordinate index, or when zoomed out as the
+ *              nearest node of the grid within a few pixels of the mouse.
  * @Contributer Tanner Randall Hunt
  */
-public class GuiGraph extends ScrollPane {
-
-    private StackPane stackPane = new StackPane();
-    private Canvas canvas = new Canvas();
-    private GraphicsContext gc = canvas.getGraphicsContext2D();
-    private GridPane gridPane = new GridPane();
-
-
-    public GuiGraph(HashMap<Point, SensorNode> sensorMap){
-        gc.setFill(Color.BLACK);
-        int size = findSize(sensorMap);
-        canvas.setWidth(GuiSize.SIZE*size);
-        canvas.setHeight(GuiSize.SIZE*size);
-        for(int i = 0;i<=size;i++){
-            for(int j = 0;j<=size;j++){
-                SensorNode sensorNode = sensorMap.get(new Point(j,i));
-                if(sensorNode!= null){
-                    GuiNodes guiNodes = new GuiNodes(sensorNode);
-                    sensorNode.addObserver(guiNodes);
-                    addEdge(sensorNode);
-                    gridPane.add(guiNodes,j,i);
-                }else {
-                    Canvas blank = new Canvas(GuiSize.SIZE,GuiSize.SIZE);
-                    gridPane.add(blank,j,i);
+public class GuiGraph extends Pane {
+    private static final double MIN_SCALE = 2;
+    private static final double MAX_SCALE = 200;
+    private static final double ZOOM_STEP = 1.1;
+    private static final double LABEL_SCALE = 30;
+    private static final double PICK_PIXELS = 6;
+    private static final int SHORT_EDGE = 16;
+
+    private final SensorNetwork network;
+    private final Topology topology;
+    private final SpatialGrid grid;
+    private final int[] longEdges;
+    private final Canvas edgeCanvas = new Canvas();
+    private final GraphicsContext edgeGc = edgeCanvas.getGraphicsContext2D();
+    private final Canvas canvas = new Canvas();
+    private final GraphicsContext gc = canvas.getGraphicsContext2D();
+    private final DirtySet dirty;
+    private final AtomicReferenceArray<SensorNode.Status> statuses;
+    private final Tooltip tooltip = new Tooltip();
+    private final int[] picked = new int[1];
+    private SensorNode hovered;
+    private double scale = GuiSize.SIZE;
+    private double originX;
+    private double originY;
+    private double dragX;
+    private double dragY;
+    private boolean viewChanged = true;
+    private final AnimationTimer frames = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            if (viewChanged) {
+                viewChanged = false;
+                dirty.drain(id -> { });
+                drawView();
+            } else {
+                dirty.drain(GuiGraph.this::redrawNode);
+            }
+        }
+    };
+
+    public GuiGraph(SensorNetwork network){
+        this.network = network;
+        this.topology = network.getTopology();
+        this.grid = new SpatialGrid(topology);
+        this.longEdges = findLongEdges();
+        this.dirty = new DirtySet(network.size());
+        this.statuses = new AtomicReferenceArray<>(network.size());
+        for (int id = 0; id < network.size(); id++) {
+            statuses.set(id, network.node(id).getDisplayStatus());
+        }
+        this.originX = grid.getMinX() - 0.5;
+        this.originY = grid.getMinY() - 0.5;
+
+        network.getEventBus().subscribe(NodeStatusChanged.class, event -> {
+            statuses.set(event.getNodeId(), event.getStatus());
+            dirty.mark(event.getNodeId());
+        });
+
+        edgeCanvas.widthProperty().bind(widthProperty());
+        edgeCanvas.heightProperty().bind(heightProperty());
+        canvas.widthProperty().bind(widthProperty());
+        canvas.heightProperty().bind(heightProperty());
+        canvas.widthProperty().addListener((observable, old, value) -> viewChanged = true);
+        canvas.heightProperty().addListener((observable, old, value) -> viewChanged = true);
+        Rectangle clip = new Rectangle();
+        clip.widthProperty().bind(widthProperty());
+        clip.heightProperty().bind(heightProperty());
+        setClip(clip);
+        setPrefSize(800, 600);
+        getChildren().addAll(edgeCanvas, canvas);
+
+        canvas.addEventHandler(MouseEvent.MOUSE_PRESSED, this::startDrag);
+        canvas.addEventHandler(MouseEvent.MOUSE_DRAGGED, this::drag);
+        canvas.addEventHandler(ScrollEvent.SCROLL, this::zoom);
+        canvas.addEventHandler(MouseEvent.MOUSE_MOVED, this::hover);
+        frames.start();
+    }
+
+    private void startDrag(MouseEvent event) {
+        dragX = event.getX();
+        dragY = event.getY();
+    }
+
+    //Moves the view with the mouse.
+    private void drag(MouseEvent event) {
+        originX -= (event.getX() - dragX) / scale;
+        originY -= (event.getY() - dragY) / scale;
+        dragX = event.getX();
+        dragY = event.getY();
+        viewChanged = true;
+    }
+
+    //Zooms in or out keeping the point under the mouse in place.
+    private void zoom(ScrollEvent event) {
+        if (event.getDeltaY() == 0) return;
+        double worldX = originX + event.getX() / scale;
+        double worldY = originY + event.getY() / scale;
+        double factor = event.getDeltaY() > 0 ? ZOOM_STEP : 1 / ZOOM_STEP;
+        scale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+        originX = worldX - event.getX() / scale;
+        originY = worldY - event.getY() / scale;
+        viewChanged = true;
+    }
+
+    //Shows the node under the mouse in a tooltip, each node covers the unit
+    //square centered on its coordinates.
+    private void hover(MouseEvent event) {
+        SensorNode sensorNode = pick(event.getX(), event.getY());
+        if (sensorNode == hovered) return;
+        hovered = sensorNode;
+        if (sensorNode == null) {
+            Tooltip.uninstall(canvas, tooltip);
+        } else {
+            tooltip.setText(sensorNode.getX() + "," + sensorNode.getY() + " "
+                    + statuses.get(sensorNode.getId())
+                    + (sensorNode.isFireStation() ? " (fire station)" : ""));
+            Tooltip.install(canvas, tooltip);
+        }
+    }
+
+    //Node whose unit square holds the point, else the nearest node within
+    //PICK_PIXELS of it, null if there is none.
+    private SensorNode pick(double screenX, double screenY) {
+        int x = (int) Math.round(originX + screenX / scale);
+        int y = (int) Math.round(originY + screenY / scale);
+        SensorNode sensorNode = network.nodeAt(x, y);
+        if (sensorNode != null || scale * 0.5 >= PICK_PIXELS
+                || grid.nearest(x, y, 1, picked) == 0) {
+            return sensorNode;
+        }
+        int id = picked[0];
+        double dx = screenX(topology.x(id)) - screenX;
+        double dy = screenY(topology.y(id)) - screenY;
+        return dx * dx + dy * dy <= PICK_PIXELS * PICK_PIXELS ? network.node(id) : null;
+    }
+
+    //Ends of every edge longer than SHORT_EDGE along either axis, each edge
+    //once from its lower id.
+    private int[] findLongEdges() {
+        Adjacency neighbors = topology.neighbors();
+        int[] ends = new int[16];
+        int count = 0;
+        for (int id = 0; id < topology.size(); id++) {
+            for (int k = neighbors.start(id); k < neighbors.end(id); k++) {
+                int n = neighbors.target(k);
+                if (n > id && isLong(id, n)) {
+                    if (count == ends.length) {
+                        ends = Arrays.copyOf(ends, count * 2);
+                    }
+                    ends[count++] = id;
+                    ends[count++] = n;
                 }
             }
         }
+        return Arrays.copyOf(ends, count);
+    }
 
-        stackPane.getChildren().addAll(canvas,gridPane);
-        stackPane.setAlignment(Pos.CENTER);
-        gridPane.setGridLinesVisible(false);
-        this.setContent(stackPane);
-        this.setPannable(true);
+    private boolean isLong(int a, int b) {
+        return Math.abs(topology.x(a) - topology.x(b)) > SHORT_EDGE
+                || Math.abs(topology.y(a) - topology.y(b)) > SHORT_EDGE;
     }
 
-    //Get max size of the grid to be displayed.
-    private int findSize(HashMap<Point, SensorNode> sensorMap){
-        int max = 0;
-        for(SensorNode node:sensorMap.values()){
-            int x = node.getLocation().x;
-            int y = node.getLocation().y;
+    //Redraws both layers inside the viewport.
+    private void drawView() {
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        edgeGc.clearRect(0, 0, width, height);
+        gc.clearRect(0, 0, width, height);
+        int x0 = (int) Math.floor(originX);
+        int y0 = (int) Math.floor(originY);
+        int x1 = (int) Math.ceil(originX + width / scale);
+        int y1 = (int) Math.ceil(originY + height / scale);
+        drawEdges(x0, y0, x1, y1);
+        grid.query(x0, y0, x1, y1, this::drawNode);
+    }
+
+    //Redraws the cell of one node on the node layer, the edges crossing it
+    //show through from the layer below.
+    private void redrawNode(int id) {
+        double left = screenX(topology.x(id) - 0.5);
+        double top = screenY(topology.y(id) - 0.5);
+        if (left > canvas.getWidth() || top > canvas.getHeight()
+                || left + scale < 0 || top + scale < 0) return;
+        gc.save();
+        gc.beginPath();
+        gc.rect(left, top, scale, scale);
+        gc.clip();
+        gc.clearRect(left, top, scale, scale);
+        drawNode(id);
+        gc.restore();
+    }
 
-            if(x>max){
-                max = x;
+    //Draws every edge that can cross the given area onto the edge layer.
+    //Both ends of a short edge crossing it are within SHORT_EDGE of the area,
+    //long edges are culled by their bounding box. Each edge is drawn once
+    //from its lower id.
+    private void drawEdges(int x0, int y0, int x1, int y1) {
+        Adjacency neighbors = topology.neighbors();
+        edgeGc.setStroke(Color.BLACK);
+        edgeGc.setLineWidth(Math.max(1, scale * 5 / GuiSize.SIZE));
+        grid.query(x0 - SHORT_EDGE, y0 - SHORT_EDGE,
+                x1 + SHORT_EDGE, y1 + SHORT_EDGE, id -> {
+            for (int k = neighbors.start(id); k < neighbors.end(id); k++) {
+                int n = neighbors.target(k);
+                if (n > id && !isLong(id, n)) {
+                    strokeEdge(id, n);
+                }
             }
-            if(y>max){
-                max = y;
+        });
+        for (int k = 0; k < longEdges.length; k += 2) {
+            int a = longEdges[k];
+            int b = longEdges[k + 1];
+            if (Math.max(topology.x(a), topology.x(b)) >= x0
+                    && Math.min(topology.x(a), topology.x(b)) <= x1
+                    && Math.max(topology.y(a), topology.y(b)) >= y0
+                    && Math.min(topology.y(a), topology.y(b)) <= y1) {
+                strokeEdge(a, b);
             }
         }
-        return max;
     }
 
-    //Generate Edges between nodes
-    private void addEdge(SensorNode node){
-        gc.setLineWidth(5);
-        double originX =  node.getLocation().x*GuiSize.SIZE;
-        double originY =  node.getLocation().y* GuiSize.SIZE;
-        for(SensorNode n:node.getNeighborNodes()) {
+    private void strokeEdge(int a, int b) {
+        edgeGc.strokeLine(screenX(topology.x(a)), screenY(topology.y(a)),
+                screenX(topology.x(b)), screenY(topology.y(b)));
+    }
+
+    //Draws the status of a node centered on its coordinates.
+    private void drawNode(int id) {
+        SensorNode sensorNode = network.node(id);
+        double left = screenX(topology.x(id) - 0.5);
+        double top = screenY(topology.y(id) - 0.5);
+        double ratio = scale / GuiSize.SIZE;
+        double sensorOffset = GuiSize.SENSOR_OFFSET * ratio;
+        double sensorSize = GuiSize.SENSOR_SIZE * ratio;
+        double agentOffset = GuiSize.AGENT_OFFSET * ratio;
+        double agentSize = GuiSize.AGENT_SIZE * ratio;
 
-            double x =   n.getLocation().x *GuiSize.SIZE;
-            double y =   n.getLocation().y *GuiSize.SIZE;
+        if(sensorNode.isFireStation()){
+            gc.setFill(Color.BLUEVIOLET);
+            gc.fillRect(left, top, scale, scale);
+        }
 
-            gc.setStroke(Color.BLACK);
-            gc.strokeLine(originX, originY, x, y);
+        Color agent = null;
+        Color sensor = Color.GREEN;
+        switch (statuses.get(id)) {
+            case ON_FIRE: sensor = Color.RED; break;
+            case CLOSE_TO_FIRE: sensor = Color.YELLOW; break;
+            case FORTIFIED: agent = Color.DARKGREEN; sensor = Color.YELLOW; break;
+            case OCCUPIED: agent = Color.DARKGREEN; break;
+            case CASUALTY: agent = Color.BLACK; sensor = Color.RED; break;
+            case OK: break;
         }
+        if (agent != null) {
+            gc.setFill(agent);
+            gc.fillRect(left + agentOffset, top + agentOffset, agentSize, agentSize);
+        }
+        gc.setFill(sensor);
+        gc.fillOval(left + sensorOffset, top + sensorOffset, sensorSize, sensorSize);
+
+        if (scale >= LABEL_SCALE) {
+            gc.setFill(Color.BLACK);
+            gc.fillText(sensorNode.getX() + "," + sensorNode.getY(),
+                    left + scale / 4, top + scale / 2);
+        }
+    }
+
+    private double screenX(double x) {
+        return (x - originX) * scale;
     }
 
+    private double screenY(double y) {
+        return (y - originY) * scale;
+    }
 }
@@ -1,33 +1,40 @@
 package Mobile_Agents.gui;
 
-import Mobile_Agents.SensorNode;
+import Mobile_Agents.StationLog;
+import Mobile_Agents.event.EventBus;
+import Mobile_Agents.event.StationReport;
 import javafx.application.Platform;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.text.Text;
-import java.util.Observable;
-import java.util.Observer;
+import java.util.concurrent.atomic.AtomicBoolean;
 /**
  * Class: GuiLog
- * Description: Displays the accumulation log in the fire station.
+ * Description: Displays the accumulation log in the fire station. Only the
+ *              reports appended since the last refresh are added, and reports
+ *              that arrive while a refresh is pending are folded into it.
  * @Contributer: Tanner Randall Hunt
  */
-public class GuiLog extends ScrollPane implements Observer {
+public class GuiLog extends ScrollPane {
     private FlowPane flowPane = new FlowPane();
-    public GuiLog(){
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private final StationLog.Cursor cursor;
+    public GuiLog(StationLog log, EventBus events){
+        cursor = log.subscribe();
         flowPane.setPrefWidth(300);
         flowPane.setPrefHeight(500);
         this.setContent(flowPane);
-
+        events.subscribe(StationReport.class, event -> refresh());
     }
-    @Override
-    public void update(Observable o, Object arg) {
-        SensorNode sensorNode = (SensorNode)o;
-        String log = sensorNode.getLog();
+
+    //Schedules a refresh on the FX thread unless one is already pending.
+    private void refresh() {
+        if(!refreshPending.compareAndSet(false, true)) return;
         Platform.runLater(()-> {
-            if(!flowPane.getChildren().isEmpty())flowPane.getChildren().clear();
-            Text text = new Text(log);
-            flowPane.getChildren().add(text);
+            refreshPending.set(false);
+            StringBuilder entries = new StringBuilder();
+            if(cursor.poll(entries::append) == 0) return;
+            flowPane.getChildren().add(new Text(entries.toString()));
             this.layout();
             this.setVvalue( 1.0d );
         });
@@ -0,0 +1,101 @@
+package Mobile_Agents.headless;
+
+import Mobile_Agents.search.SearchStrategy;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Class: BatchRunner
+ * Description: Headless entry point. Runs every config file once per seed,
+ *              spreading the scenarios over a pool of threads, and prints one
+ *              CSV row per run. No JavaFX class is loaded.
+ *
+ *              Usage: BatchRunner [--seeds FROM..TO] [--parallelism N]
+ *                                 [--horizon MILLIS] [--latency MILLIS]
+ *                                 [--search STRATEGY] [--trace DIR] config...
+ *              With --trace every run records its trace to
+ *              DIR/<config>-<seed>.trace for TraceAnalyzer.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class BatchRunner {
+    private static final long DEFAULT_HORIZON_MILLIS = 3_600_000;
+    private static final long DEFAULT_LATENCY_MILLIS = 10;
+
+    public static void main(String[] args) throws InterruptedException {
+        long firstSeed = 0;
+        long lastSeed = 0;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        long horizonMillis = DEFAULT_HORIZON_MILLIS;
+        long latencyMillis = DEFAULT_LATENCY_MILLIS;
+        SearchStrategy searchStrategy = SearchStrategy.DFS;
+        Path traceDirectory = null;
+        List<String> configs = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--seeds": {
+                    String[] range = args[++i].split("\\.\\.");
+                    firstSeed = Long.parseLong(range[0]);
+                    lastSeed = range.length > 1 ? Long.parseLong(range[1]) : firstSeed;
+                    break;
+                }
+                case "--parallelism": {
+                    parallelism = Integer.parseInt(args[++i]);
+                    break;
+                }
+                case "--horizon": {
+                    horizonMillis = Long.parseLong(args[++i]);
+                    break;
+                }
+                case "--latency": {
+                    latencyMillis = Long.parseLong(args[++i]);
+                    break;
+                }
+                case "--search": {
+                    searchStrategy = SearchStrategy.valueOf(args[++i]);
+                    break;
+                }
+                case "--trace": {
+                    traceDirectory = Paths.get(args[++i]);
+                    break;
+                }
+                default: {
+                    configs.add(args[i]);
+                }
+            }
+        }
+        if (configs.isEmpty() || lastSeed < firstSeed || parallelism < 1) {
+            System.err.println("Usage: BatchRunner [--seeds FROM..TO] [--parallelism N] "
+                    + "[--horizon MILLIS] [--latency MILLIS] [--search STRATEGY] [--trace DIR] config...");
+            System.exit(1);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        List<Future<RunSummary>> runs = new ArrayList<>();
+        for (String config : configs) {
+            for (long seed = firstSeed; seed <= lastSeed; seed++) {
+                Path traceFile = traceDirectory == null ? null : traceDirectory.resolve(
+                        Paths.get(config).getFileName() + "-" + seed + ".trace");
+                runs.add(pool.submit(new Scenario(config, seed, horizonMillis, latencyMillis,
+                        searchStrategy, traceFile)));
+            }
+        }
+        pool.shutdown();
+
+        System.out.println(RunSummary.HEADER);
+        for (Future<RunSummary> run : runs) {
+            try {
+                System.out.println(run.get());
+            } catch (ExecutionException e) {
+                e.getCause().printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package Mobile_Agents.headless;
+
+/**
+ * Class: RunSummary
+ * Description: Outcome of one headless scenario, printed as a CSV row.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class RunSummary {
+    public static final String HEADER =
+            "config,seed,station_notified_ms,agents_created,casualties,messages,burned,nodes,simulated_ms,wall_ms";
+
+    private final String config;
+    private final long seed;
+    private final long stationNotifiedMillis;
+    private final int agentsCreated;
+    private final int casualties;
+    private final long messages;
+    private final int burned;
+    private final int nodes;
+    private final long simulatedMillis;
+    private final long wallMillis;
+
+    public RunSummary(String config, long seed, long stationNotifiedMillis, int agentsCreated,
+                      int casualties, long messages, int burned, int nodes,
+                      long simulatedMillis, long wallMillis) {
+        this.config = config;
+        this.seed = seed;
+        this.stationNotifiedMillis = stationNotifiedMillis;
+        this.agentsCreated = agentsCreated;
+        this.casualties = casualties;
+        this.messages = messages;
+        this.burned = burned;
+        this.nodes = nodes;
+        this.simulatedMillis = simulatedMillis;
+        this.wallMillis = wallMillis;
+    }
+
+    /**
+     * Gets the virtual time between ignition and the first report reaching
+     * the fire station
+     * @return time to notification, -1 if the station was never notified
+     */
+    public long getStationNotifiedMillis() {
+        return stationNotifiedMillis;
+    }
+
+    public int getAgentsCreated() {
+        return agentsCreated;
+    }
+
+    public int getCasualties() {
+        return casualties;
+    }
+
+    public long getMessages() {
+        return messages;
+    }
+
+    public int getBurned() {
+        return burned;
+    }
+
+    public int getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the virtual time at which the simulation ended
+     * @return simulated time
+     */
+    public long getSimulatedMillis() {
+        return simulatedMillis;
+    }
+
+    /**
+     * Gets the real time the run took, loading included
+     * @return wall clock time
+     */
+    public long getWallMillis() {
+        return wallMillis;
+    }
+
+    /**
+     * CSV representation matching HEADER
+     */
+    @Override
+    public String toString() {
+        return config + "," + seed + "," + stationNotifiedMillis + "," + agentsCreated + ","
+                + casualties + "," + messages + "," + burned + "," + nodes + ","
+                + simulatedMillis + "," + wallMillis;
+    }
+}
@@ -0,0 +1,103 @@
+package Mobile_Agents.headless;
+
+import Mobile_Agents.SensorNetwork;
+import Mobile_Agents.SensorNode;
+import Mobile_Agents.reader.ConfigReader;
+import Mobile_Agents.runtime.DiscreteEventExecutor;
+import Mobile_Agents.search.SearchStrategy;
+import Mobile_Agents.trace.TraceRecorder;
+
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * Class: Scenario
+ * Description: One simulation of a config file with a given seed, run to
+ *              completion on a DiscreteEventExecutor without any GUI.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class Scenario implements Callable<RunSummary> {
+    private final String configFile;
+    private final long seed;
+    private final long horizonMillis;
+    private final long deliveryMillis;
+    private final SearchStrategy searchStrategy;
+    private final Path traceFile;
+
+    /**
+     * @param configFile config file in the ConfigReader format
+     * @param seed seed for the channels and the simulation
+     * @param horizonMillis last virtual time to simulate
+     * @param deliveryMillis virtual latency of one message hop
+     * @param searchStrategy strategy of searching agents
+     */
+    public Scenario(String configFile, long seed, long horizonMillis, long deliveryMillis,
+                    SearchStrategy searchStrategy) {
+        this(configFile, seed, horizonMillis, deliveryMillis, searchStrategy, null);
+    }
+
+    /**
+     * @param configFile config file in the ConfigReader format
+     * @param seed seed for the channels and the simulation
+     * @param horizonMillis last virtual time to simulate
+     * @param deliveryMillis virtual latency of one message hop
+     * @param searchStrategy strategy of searching agents
+     * @param traceFile file to record the run's trace to, null for none
+     */
+    public Scenario(String configFile, long seed, long horizonMillis, long deliveryMillis,
+                    SearchStrategy searchStrategy, Path traceFile) {
+        this.configFile = configFile;
+        this.seed = seed;
+        this.horizonMillis = horizonMillis;
+        this.deliveryMillis = deliveryMillis;
+        this.searchStrategy = searchStrategy;
+        this.traceFile = traceFile;
+    }
+
+    /**
+     * Loads the config, ignites the fire, dispatches the station agents and
+     * runs until the fire has burned out or the horizon is reached.
+     * @return summary of the run
+     */
+    @Override
+    public RunSummary call() {
+        long start = System.nanoTime();
+        ConfigReader configReader = new ConfigReader(configFile, new Random(seed));
+        DiscreteEventExecutor executor = new DiscreteEventExecutor(seed, deliveryMillis);
+        SensorNetwork network = configReader.getNetwork();
+        network.setSearchStrategy(searchStrategy);
+        if (traceFile != null) {
+            network.setTraceRecorder(new TraceRecorder(traceFile));
+        }
+        for (int id = 0; id < network.size(); id++) {
+            network.node(id).start(executor);
+        }
+        configReader.ignite();
+        configReader.dispatch();
+        executor.run(horizonMillis);
+        if (traceFile != null) {
+            network.getTraceRecorder().close();
+        }
+
+        int agentsCreated = 0;
+        int casualties = 0;
+        int burned = 0;
+        long messages = 0;
+        for (int id = 0; id < network.size(); id++) {
+            SensorNode sensorNode = network.node(id);
+            agentsCreated += sensorNode.getAgentsCreated();
+            messages += sensorNode.getMessagesReceived();
+            if (sensorNode.getNodeStatus() == SensorNode.Status.ON_FIRE) {
+                burned++;
+                if (sensorNode.getNodeAgent() != null) {
+                    casualties++;
+                }
+            }
+        }
+        long wallMillis = (System.nanoTime() - start) / 1_000_000;
+        return new RunSummary(configFile, seed, configReader.getFirstReportTime(),
+                agentsCreated, casualties, messages, burned, network.size(),
+                executor.currentTimeMillis(), wallMillis);
+    }
+}
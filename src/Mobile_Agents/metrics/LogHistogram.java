@@ -0,0 +1,105 @@
+package Mobile_Agents.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class: LogHistogram
+ * Description: Lock-free histogram of non negative longs with logarithmic
+ *              buckets. Every power of two is split into SUB_BUCKETS linear
+ *              buckets, so a recorded value is known to within 1/SUB_BUCKETS
+ *              of itself, like an HdrHistogram with one significant digit,
+ *              in a fixed array of atomic counters.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class LogHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a value, negative values are recorded as 0. Safe to call from
+     * any thread.
+     * @param value value
+     */
+    public void record(long value) {
+        value = Math.max(0, value);
+        counts.incrementAndGet(bucket(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Gets an upper bound of the value below which a fraction of the
+     * recorded values fall
+     * @param fraction between 0 and 1
+     * @return highest value of the bucket holding the percentile
+     */
+    public long getPercentile(double fraction) {
+        long n = count.sum();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(fraction * n));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts.get(b);
+            if (seen >= rank) {
+                return Math.min(highest(b), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Summary of the histogram, keyed count, mean, p50, p90, p99 and max
+     * @return summary in that order
+     */
+    public Map<String, Double> summary() {
+        Map<String, Double> summary = new LinkedHashMap<>();
+        summary.put("count", (double) getCount());
+        summary.put("mean", getMean());
+        summary.put("p50", (double) getPercentile(0.5));
+        summary.put("p90", (double) getPercentile(0.9));
+        summary.put("p99", (double) getPercentile(0.99));
+        summary.put("max", (double) getMax());
+        return summary;
+    }
+
+    //Values below SUB_BUCKETS get a bucket each, above that the bucket is
+    //the power of two and the next SUB_BITS bits of the value.
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (magnitude - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long highest(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int magnitude = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        long lowest = (1L << magnitude) | (sub << (magnitude - SUB_BITS));
+        return lowest + (1L << (magnitude - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,185 @@
+package Mobile_Agents.metrics;
+
+import Mobile_Agents.Message;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Class: Metrics
+ * Description: Counters and histograms of the simulation runtime, shared by
+ *              every simulation of the process. Disabled unless the JVM runs
+ *              with -Dmobile_agents.metrics=true; the hooks test the static
+ *              final ENABLED flag, so a disabled build pays nothing once the
+ *              JIT has folded the test away.
+ *
+ *              When enabled the metrics are registered as the MXBean
+ *              Mobile_Agents:type=Metrics, and with
+ *              -Dmobile_agents.metrics.dump=FILE they are appended to FILE
+ *              every -Dmobile_agents.metrics.interval seconds (default 10),
+ *              as JSON lines if FILE ends in .json and as CSV otherwise.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public final class Metrics {
+    public static final boolean ENABLED = Boolean.getBoolean("mobile_agents.metrics");
+
+    private static final Message.Type[] TYPES = Message.Type.values();
+    private static final LongAdder[] delivered = adders();
+    private static final LongAdder[] processed = adders();
+    private static final LogHistogram inboxDepth = new LogHistogram();
+    private static final LogHistogram inboxBatch = new LogHistogram();
+    private static final LogHistogram searchSteps = new LogHistogram();
+    private static final LogHistogram reportHops = new LogHistogram();
+    private static final LogHistogram reportLatency = new LogHistogram();
+    private static final LogHistogram notificationLatency = new LogHistogram();
+
+    static {
+        if (ENABLED) {
+            register();
+            String dump = System.getProperty("mobile_agents.metrics.dump");
+            if (dump != null) {
+                MetricsReporter.start(dump, Long.getLong("mobile_agents.metrics.interval", 10));
+            }
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * A message was put into a node's inbox
+     * @param type type of the message
+     */
+    public static void delivered(Message.Type type) {
+        delivered[type.ordinal()].increment();
+    }
+
+    /**
+     * A node processed a message
+     * @param type type of the message
+     */
+    public static void processed(Message.Type type) {
+        processed[type.ordinal()].increment();
+    }
+
+    /**
+     * A node was scheduled with messages waiting in its inbox
+     * @param depth number of messages waiting
+     */
+    public static void inboxDepth(int depth) {
+        inboxDepth.record(depth);
+    }
+
+    /**
+     * A node drained a batch of messages from its inbox, at most the batch
+     * size whatever the depth of the inbox
+     * @param size number of messages drained
+     */
+    public static void inboxBatch(int size) {
+        inboxBatch.record(size);
+    }
+
+    /**
+     * An agent finished a search
+     * @param steps nodes examined by the search
+     */
+    public static void searchSteps(long steps) {
+        searchSteps.record(steps);
+    }
+
+    /**
+     * The fire station appended a report to its log
+     * @param hops hops the report traveled
+     * @param createdMillis time the reported agent was created
+     * @param receivedMillis time the station received the report
+     * @param ignitionMillis time the first node of the run burned, -1 if
+     *                       none has
+     */
+    public static void stationReport(int hops, long createdMillis, long receivedMillis,
+                                     long ignitionMillis) {
+        reportHops.record(hops);
+        reportLatency.record(receivedMillis - createdMillis);
+        if (ignitionMillis >= 0) {
+            notificationLatency.record(receivedMillis - ignitionMillis);
+        }
+    }
+
+    /**
+     * Current values of every metric, counters by name and histograms as
+     * their summary
+     * @return snapshot in a stable order
+     */
+    public static Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("delivered", counts(delivered));
+        snapshot.put("processed", counts(processed));
+        snapshot.put("inbox_depth", inboxDepth.summary());
+        snapshot.put("inbox_batch", inboxBatch.summary());
+        snapshot.put("search_steps", searchSteps.summary());
+        snapshot.put("report_hops", reportHops.summary());
+        snapshot.put("report_latency_ms", reportLatency.summary());
+        snapshot.put("notification_latency_ms", notificationLatency.summary());
+        return snapshot;
+    }
+
+    static Map<String, Long> counts(LongAdder[] adders) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Message.Type type : TYPES) {
+            counts.put(type.name(), adders[type.ordinal()].sum());
+        }
+        return counts;
+    }
+
+    static LongAdder[] deliveredAdders() {
+        return delivered;
+    }
+
+    static LongAdder[] processedAdders() {
+        return processed;
+    }
+
+    static LogHistogram inboxDepth() {
+        return inboxDepth;
+    }
+
+    static LogHistogram inboxBatch() {
+        return inboxBatch;
+    }
+
+    static LogHistogram searchSteps() {
+        return searchSteps;
+    }
+
+    static LogHistogram reportHops() {
+        return reportHops;
+    }
+
+    static LogHistogram reportLatency() {
+        return reportLatency;
+    }
+
+    static LogHistogram notificationLatency() {
+        return notificationLatency;
+    }
+
+    private static LongAdder[] adders() {
+        LongAdder[] adders = new LongAdder[TYPES.length];
+        for (int k = 0; k < adders.length; k++) {
+            adders[k] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMXBeanImpl(),
+                    new ObjectName("Mobile_Agents:type=Metrics"));
+        } catch (JMException e) {
+            System.err.println("Metrics are not available over JMX: " + e);
+        }
+    }
+}
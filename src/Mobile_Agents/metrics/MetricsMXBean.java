@@ -0,0 +1,28 @@
+package Mobile_Agents.metrics;
+
+import java.util.Map;
+
+/**
+ * Interface: MetricsMXBean
+ * Description: JMX view of the simulation metrics. Histograms are exposed as
+ *              their summary: count, mean, p50, p90, p99 and max.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public interface MetricsMXBean {
+
+    Map<String, Long> getMessagesDelivered();
+
+    Map<String, Long> getMessagesProcessed();
+
+    Map<String, Double> getInboxDepth();
+
+    Map<String, Double> getInboxBatch();
+
+    Map<String, Double> getSearchSteps();
+
+    Map<String, Double> getReportHops();
+
+    Map<String, Double> getReportLatencyMillis();
+
+    Map<String, Double> getNotificationLatencyMillis();
+}
@@ -0,0 +1,51 @@
+package Mobile_Agents.metrics;
+
+import java.util.Map;
+
+/**
+ * Class: MetricsMXBeanImpl
+ * Description: Reads the live metrics for JMX clients.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+class MetricsMXBeanImpl implements MetricsMXBean {
+
+    @Override
+    public Map<String, Long> getMessagesDelivered() {
+        return Metrics.counts(Metrics.deliveredAdders());
+    }
+
+    @Override
+    public Map<String, Long> getMessagesProcessed() {
+        return Metrics.counts(Metrics.processedAdders());
+    }
+
+    @Override
+    public Map<String, Double> getInboxDepth() {
+        return Metrics.inboxDepth().summary();
+    }
+
+    @Override
+    public Map<String, Double> getInboxBatch() {
+        return Metrics.inboxBatch().summary();
+    }
+
+    @Override
+    public Map<String, Double> getSearchSteps() {
+        return Metrics.searchSteps().summary();
+    }
+
+    @Override
+    public Map<String, Double> getReportHops() {
+        return Metrics.reportHops().summary();
+    }
+
+    @Override
+    public Map<String, Double> getReportLatencyMillis() {
+        return Metrics.reportLatency().summary();
+    }
+
+    @Override
+    public Map<String, Double> getNotificationLatencyMillis() {
+        return Metrics.notificationLatency().summary();
+    }
+}
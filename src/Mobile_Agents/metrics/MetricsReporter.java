@@ -0,0 +1,92 @@
+package Mobile_Agents.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class: MetricsReporter
+ * Description: Appends a snapshot of the metrics to a file at a fixed rate
+ *              on a daemon thread, one JSON object per line for .json files
+ *              and one CSV row per snapshot otherwise, with a header row
+ *              written when the file is created. A last snapshot is written
+ *              when the JVM exits.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+final class MetricsReporter implements Runnable {
+    private final Path path;
+    private final boolean json;
+
+    private MetricsReporter(Path path) {
+        this.path = path;
+        this.json = path.toString().endsWith(".json");
+    }
+
+    static void start(String file, long intervalSeconds) {
+        MetricsReporter reporter = new MetricsReporter(Paths.get(file));
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(reporter, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(reporter, "metrics-reporter-exit"));
+    }
+
+    @Override
+    public synchronized void run() {
+        Map<String, Object> snapshot = Metrics.snapshot();
+        try {
+            boolean created = !Files.exists(path);
+            try (BufferedWriter out = Files.newBufferedWriter(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (json) {
+                    out.write(json(snapshot));
+                } else {
+                    if (created) {
+                        out.write(csv(snapshot, true));
+                        out.newLine();
+                    }
+                    out.write(csv(snapshot, false));
+                }
+                out.newLine();
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write metrics to " + path + ": " + e);
+        }
+    }
+
+    //Flattens the snapshot into time_ms,group.key,... columns.
+    private static String csv(Map<String, Object> snapshot, boolean header) {
+        StringBuilder row = new StringBuilder(header ? "time_ms" : Long.toString(System.currentTimeMillis()));
+        for (Map.Entry<String, Object> group : snapshot.entrySet()) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) group.getValue()).entrySet()) {
+                row.append(',');
+                row.append(header ? group.getKey() + "." + entry.getKey() : entry.getValue());
+            }
+        }
+        return row.toString();
+    }
+
+    private static String json(Map<String, Object> snapshot) {
+        StringBuilder object = new StringBuilder("{\"time_ms\":").append(System.currentTimeMillis());
+        for (Map.Entry<String, Object> group : snapshot.entrySet()) {
+            object.append(",\"").append(group.getKey()).append("\":{");
+            String separator = "";
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) group.getValue()).entrySet()) {
+                object.append(separator).append('"').append(entry.getKey()).append("\":")
+                        .append(entry.getValue());
+                separator = ",";
+            }
+            object.append('}');
+        }
+        return object.append('}').toString();
+    }
+}
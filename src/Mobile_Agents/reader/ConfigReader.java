@@ -1,187 +1,177 @@
 package Mobile_Agents.reader;
 
+import Mobile_Agents.SensorNetwork;
 import Mobile_Agents.SensorNode;
-
-import java.awt.Point;
-import java.io.File;
-import java.io.FileNotFoundException;
+import Mobile_Agents.distributed.Partition;
+import Mobile_Agents.graph.Adjacency;
+import Mobile_Agents.graph.ChannelBuilder;
+import Mobile_Agents.graph.Topology;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * Class: ConfigReader
- * Description: Reads a config file and assembles a hashMap containing
- *              sensors nodes, assigns neighbors based on the configuration file
- *              and establishes paths back to the designated fire station.
+ * Description: Reads a config file into a compressed Topology, assembles the
+ *              SensorNetwork of sensor nodes built on it and establishes paths
+ *              back to the designated fire stations. Each node is routed to
+ *              its nearest station, and every station logs into the shared
+ *              StationLog of the network. In a distributed simulation the
+ *              network only hosts the partition of this process, and ignite,
+ *              dispatch and the station getters only act on local nodes.
+ *              Every node keeps -Dmobile_agents.backups backup channels on top
+ *              of its first one, 2 by default.
  * @Contributer Tanner Randall Hunt
  */
 public class ConfigReader {
+    private static final int BACKUP_CHANNELS = Math.max(0, Integer.getInteger("mobile_agents.backups", 2));
+    private static final boolean CACHE = Boolean.getBoolean("mobile_agents.cache");
 
-    private HashMap<Point, SensorNode> sensorMap = new HashMap<>();
-    private LinkedList<LinkedList<SensorNode> > channels;
-    private Point stationLocation;
-    private Point fireOrigin;
-    private List<Point[]> edges = new ArrayList<>();
+    private SensorNetwork network;
+    private int[] stations;
+    private int fireOrigin;
+    private Random random;
 
     public ConfigReader(String fileName){
-        readIn(fileName);
-        assignNeighbors();
-        channels = new LinkedList<>();
-        SensorNode fireStation = sensorMap.get(stationLocation);
-        fireStation.setFireStation();
-        constructChannels();
-        setChannels();
+        this(fileName, new Random());
+    }
 
+    /**
+     * Reads the config file, shuffling the channel search with the given
+     * random numbers so that a seeded run builds the same channels.
+     * @param fileName config file
+     * @param random source of random numbers
+     */
+    public ConfigReader(String fileName, Random random){
+        this(fileName, random, topology -> null);
+    }
 
+    /**
+     * Reads the config file for one process of a distributed simulation.
+     * Every process must use the same random numbers to build the same
+     * channels.
+     * @param fileName config file
+     * @param random source of random numbers
+     * @param partitioning splits the topology read, may return null to host
+     *                     every node
+     */
+    public ConfigReader(String fileName, Random random, Function<Topology, Partition> partitioning){
+        this.random = random;
+        GraphFile graph = readIn(fileName);
+        stations = graph.getStations();
+        fireOrigin = graph.getFire();
+        network = new SensorNetwork(graph.getTopology(), partitioning.apply(graph.getTopology()));
+        for (SensorNode fireStation : getFireStations()) {
+            fireStation.setFireStation();
+        }
+        constructChannels();
     }
 
-    //Reading in from a config file
-    private void readIn(String fileName)  {
+    //Reading in from a config file, or from its binary snapshot when caching
+    //is enabled with -Dmobile_agents.cache=true and the snapshot is up to date.
+    //A corrupt snapshot is replaced by parsing the config again.
+    private GraphFile readIn(String fileName)  {
+        Path path = Paths.get(fileName);
+        Path snapshot = Paths.get(fileName + ".bin");
         try {
-            Scanner scanner = new Scanner(new File(fileName));
-            while (scanner.hasNextLine()) {
-                String[] line = scanner.nextLine().split(" ");
-                switch (line[0]) {
-                    case "node": {
-                        int x = Integer.parseInt(line[1]);
-                        int y = Integer.parseInt(line[2]);
-                        Point location = new Point(x, y);
-                        SensorNode sensorNode = new SensorNode(location);
-                        sensorMap.put(location, sensorNode);
-                        break;
-                    }
-                    case "edge": {
-                        int x1 = Integer.parseInt(line[1]);
-                        int y1 = Integer.parseInt(line[2]);
-                        int x2 = Integer.parseInt(line[3]);
-                        int y2 = Integer.parseInt(line[4]);
-                        Point[] points = {new Point(x1, y1), new Point(x2, y2)};
-                        edges.add(points);
-                        break;
-                    }
-                    case "station": {
-                        int x = Integer.parseInt(line[1]);
-                        int y = Integer.parseInt(line[2]);
-                        stationLocation = new Point(x, y);
-                        break;
-                    }
-                    case "fire": {
-                        int x = Integer.parseInt(line[1]);
-                        int y = Integer.parseInt(line[2]);
-                        fireOrigin = new Point(x, y);
-                        break;
-                    }
-
+            if (GraphCache.isSnapshot(path)) {
+                return GraphCache.read(path);
+            }
+            if (CACHE && Files.exists(snapshot)
+                    && Files.getLastModifiedTime(snapshot).compareTo(Files.getLastModifiedTime(path)) >= 0) {
+                try {
+                    return GraphCache.read(snapshot);
+                } catch (IOException e) {
+                    System.err.println("Ignoring snapshot: " + e.getMessage());
                 }
             }
-        }catch (FileNotFoundException e){
-            e.printStackTrace();
+            GraphFile graph = GraphParser.parse(path);
+            if (CACHE) {
+                GraphCache.write(graph, snapshot);
+            }
+            return graph;
+        }catch (IOException e){
+            throw new UncheckedIOException(e);
         }
     }
 
     /**
-     * Gets the HashMap of Sensor Nodes.
-     * @return
+     * Gets the network of sensor nodes.
+     * @return network
      */
-    public HashMap<Point, SensorNode> getSensorMap() {
-        return sensorMap;
-    }
-
-    //Assigns neighbors outlined in the config file.
-    private void assignNeighbors(){
-        for(Point[] points : edges){
-            SensorNode neighbor1 = sensorMap.get(points[0]);
-            SensorNode neighbor2 = sensorMap.get(points[1]);
-            neighbor1.addNeighbor(neighbor2);
-            neighbor2.addNeighbor(neighbor1);
-        }
+    public SensorNetwork getNetwork() {
+        return network;
     }
 
     /**
-     * Signals the node designated as the "Fire Station" to dispatch it's agent.
+     * Signals every node designated as a "Fire Station" to dispatch it's agent.
      * (Start the agent Thread -> Begin Searching)
      */
     public void dispatch(){
-        SensorNode fireStation = sensorMap.get(stationLocation);
-        fireStation.dispatch();
+        for (SensorNode fireStation : getFireStations()) {
+            fireStation.dispatch();
+        }
     }
 
     /**
      * Sets sensor node designated as the fire origin on fire.
      */
     public void ignite(){
-        sensorMap.get(fireOrigin).setOnFire();
+        if (network.isLocal(fireOrigin)) {
+            network.node(fireOrigin).setOnFire();
+        }
     }
 
-    //Constructs paths from each node back to the fire station and assigns channel
-    //neighbors.
+    //Constructs paths from each node back to its nearest fire station and assigns
+    //channel neighbors, one breadth first search rooted at every station.
     private void constructChannels(){
-        SensorNode fireStation = sensorMap.get(stationLocation);
-        for(SensorNode target:sensorMap.values()) {
-            HashMap<SensorNode,SensorNode> parents = new HashMap<>();
-            LinkedList<SensorNode> visited = new LinkedList<>();
-            constructChannels(fireStation,target,visited,parents);
-        }
+        Adjacency neighbors = network.getTopology().neighbors();
+        int[] distances = ChannelBuilder.distances(neighbors, stations);
+        network.setChannels(ChannelBuilder.channels(neighbors, distances, BACKUP_CHANNELS, random),
+                distances);
     }
-    private void constructChannels(SensorNode current, SensorNode target,
-                                   LinkedList<SensorNode> visited,
-                                   HashMap<SensorNode,SensorNode> parents){
-        visited.add(current);
 
-        if(current.equals(target)){
-
-            channels.add(extractChannel(parents,target));
-            return;
-        }
-        Collections.shuffle(current.getNeighborNodes());
-        for(SensorNode node:current.getNeighborNodes()) {
-            if (!visited.contains(node)) {
-                parents.put(node,current);
-                constructChannels(node, target, visited, parents);
-            }
-        }
-
-    }
+    /**
+     * Gets the first fire station of the config
+     * @return station node, null if another process hosts it
+     */
     public SensorNode getFireStation(){
-        return sensorMap.get(stationLocation);
+        return network.isLocal(stations[0]) ? network.node(stations[0]) : null;
     }
-    //Extracts Channel form parent child map made during dfs.
-    private LinkedList<SensorNode> extractChannel(HashMap<SensorNode,
-            SensorNode> parents,SensorNode start){
-        if (parents ==null||parents.isEmpty()) return null;
-
-        LinkedList<SensorNode>  channel = new LinkedList<>();
-        channel.add(start);
-        SensorNode current = parents.get(start);
 
-        while(!current.getLocation().equals(stationLocation)){
-
-            channel.add(current);
-            current = parents.get(current);
-        }
-        if(current.getLocation().equals(stationLocation)){
-            channel.add(current);
+    /**
+     * Gets every fire station hosted by this process, in the order of the
+     * config
+     * @return station nodes
+     */
+    public List<SensorNode> getFireStations(){
+        List<SensorNode> fireStations = new ArrayList<>(stations.length);
+        for (int station : stations) {
+            if (network.isLocal(station)) {
+                fireStations.add(network.node(station));
+            }
         }
-        return channel;
+        return fireStations;
     }
 
-    //Set Channel neighbor nodes for each sensor node in the map.
-    private void setChannels(){
-        for(LinkedList<SensorNode>  channel :channels){
-            setChannels(channel);
-        }
-    }
-    private void setChannels(LinkedList<SensorNode>  channel){
-        if(channel != null&&!channel.isEmpty()) {
-            SensorNode node1 = channel.pop();
-            if(channel.isEmpty()) return;
-            SensorNode node2 = channel.peek();
-            if (node1.getChannels().contains(node2)){
-                channel.remove();
-                setChannels(channel);
-            }else{
-                node1.addChannel(node2);
-                setChannels(channel);
+    /**
+     * Gets the earliest time any fire station received a report from
+     * another node
+     * @return first report time, -1 if no station has been notified
+     */
+    public long getFirstReportTime(){
+        long first = -1;
+        for (SensorNode fireStation : getFireStations()) {
+            long time = fireStation.getFirstReportTime();
+            if (time >= 0 && (first < 0 || time < first)) {
+                first = time;
             }
         }
+        return first;
     }
 }
@@ -0,0 +1,148 @@
+package Mobile_Agents.reader;
+
+import Mobile_Agents.graph.Adjacency;
+import Mobile_Agents.graph.Topology;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class: GraphCache
+ * Description: Compact binary snapshot of a parsed config file. The file
+ *              holds a small header followed by the ids of the fire stations,
+ *              the packed coordinates and the compressed adjacency arrays,
+ *              read back with a single memory mapping and bulk copies.
+ *              A snapshot whose counts do not match its length or whose ids
+ *              are out of range is rejected with an IOException, never
+ *              loaded half way.
+ *
+ *              Usage: GraphCache config.txt snapshot.bin
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class GraphCache {
+    static final int MAGIC = 0x4d414732; // "MAG2"
+    private static final int HEADER_INTS = 6;
+
+    private GraphCache() {
+    }
+
+    /**
+     * Converts a config file into a snapshot.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: GraphCache config.txt snapshot.bin");
+            System.exit(1);
+        }
+        write(GraphParser.parse(Paths.get(args[0])), Paths.get(args[1]));
+    }
+
+    /**
+     * Writes a snapshot of a parsed graph.
+     * @param graph parsed graph
+     * @param path snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(GraphFile graph, Path path) throws IOException {
+        Topology topology = graph.getTopology();
+        Adjacency neighbors = topology.neighbors();
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(topology.size());
+            out.writeInt(neighbors.edgeCount());
+            out.writeInt(graph.getStations().length);
+            out.writeInt(graph.getFire());
+            out.writeInt(0); // reserved
+            writeInts(out, graph.getStations());
+            writeInts(out, topology.coordinateArray());
+            writeInts(out, neighbors.offsetArray());
+            writeInts(out, neighbors.targetArray());
+        }
+    }
+
+    /**
+     * Reads a snapshot.
+     * @param path snapshot file
+     * @return parsed graph
+     * @throws IOException if the file cannot be read or is not a snapshot
+     */
+    public static GraphFile read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            IntBuffer ints = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .asIntBuffer();
+            int magic = ints.remaining() < HEADER_INTS ? 0 : ints.get();
+            if (magic != MAGIC) {
+                throw new IOException(path + " is not a graph snapshot");
+            }
+            int size = ints.get();
+            int edgeCount = ints.get();
+            int stationCount = ints.get();
+            int fire = ints.get();
+            ints.get();
+            long expected = HEADER_INTS + (long) stationCount + 3L * size + 1 + edgeCount;
+            if (size < 0 || edgeCount < 0 || stationCount < 0
+                    || expected * Integer.BYTES != channel.size()) {
+                throw new IOException(path + " is a truncated or corrupt graph snapshot");
+            }
+            int[] stations = new int[stationCount];
+            int[] coordinates = new int[2 * size];
+            int[] offsets = new int[size + 1];
+            int[] targets = new int[edgeCount];
+            ints.get(stations).get(coordinates).get(offsets).get(targets);
+            check(path, stations, fire, offsets, targets);
+            return new GraphFile(new Topology(coordinates, new Adjacency(offsets, targets)),
+                    stations, fire);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException(path + " is a corrupt graph snapshot", e);
+        }
+    }
+
+    /**
+     * Checks whether a file starts like a snapshot.
+     * @param path file to check
+     * @return true for a snapshot, false for a text config
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isSnapshot(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(4);
+            return channel.read(head) == 4 && head.getInt(0) == MAGIC;
+        }
+    }
+
+    //Checks that every id is a node and the offsets split the targets.
+    private static void check(Path path, int[] stations, int fire, int[] offsets, int[] targets)
+            throws IOException {
+        int size = offsets.length - 1;
+        boolean valid = stations.length > 0 && fire >= 0 && fire < size
+                && offsets[0] == 0 && offsets[size] == targets.length;
+        for (int station : stations) {
+            valid &= station >= 0 && station < size;
+        }
+        for (int id = 0; id < size && valid; id++) {
+            valid = offsets[id] <= offsets[id + 1];
+        }
+        for (int k = 0; k < targets.length && valid; k++) {
+            valid = targets[k] >= 0 && targets[k] < size;
+        }
+        if (!valid) {
+            throw new IOException(path + " has ids outside of its graph");
+        }
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+}
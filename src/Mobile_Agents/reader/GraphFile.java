@@ -0,0 +1,62 @@
+package Mobile_Agents.reader;
+
+import Mobile_Agents.graph.Topology;
+
+/**
+ * Class: GraphFile
+ * Description: Contents of a config file once parsed, the topology and the
+ *              ids of the fire stations and of the fire origin.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class GraphFile {
+    private final Topology topology;
+    private final int[] stations;
+    private final int fire;
+
+    public GraphFile(Topology topology, int station, int fire) {
+        this(topology, new int[]{station}, fire);
+    }
+
+    /**
+     * @param topology parsed topology
+     * @param stations ids of the fire stations, at least one
+     * @param fire id of the node where the fire starts
+     */
+    public GraphFile(Topology topology, int[] stations, int fire) {
+        if (stations.length == 0) {
+            throw new IllegalArgumentException("A graph needs at least one fire station");
+        }
+        this.topology = topology;
+        this.stations = stations;
+        this.fire = fire;
+    }
+
+    public Topology getTopology() {
+        return topology;
+    }
+
+    /**
+     * Gets the id of the first fire station of the config
+     * @return station id
+     */
+    public int getStation() {
+        return stations[0];
+    }
+
+    /**
+     * Gets the ids of every fire station, in the order of the config. The
+     * array must not be modified.
+     * @return station ids
+     */
+    public int[] getStations() {
+        return stations;
+    }
+
+    /**
+     * Gets the id of the node where the fire starts
+     * @return fire origin id
+     */
+    public int getFire() {
+        return fire;
+    }
+}
@@ -0,0 +1,217 @@
+package Mobile_Agents.reader;
+
+import Mobile_Agents.graph.CoordinateIndex;
+import Mobile_Agents.graph.Topology;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Class: GraphParser
+ * Description: Streaming parser for the config file format. Reads the file
+ *              through a FileChannel in fixed size blocks and parses keywords
+ *              and integers straight from the bytes, so the cost per line is
+ *              a few array writes instead of a String and its split parts.
+ *              Edges are resolved once the whole file is read and an edge,
+ *              station or fire naming an unknown node is rejected. A config
+ *              may have several station lines, a node named twice is one
+ *              station.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class GraphParser {
+    private static final int BLOCK_SIZE = 1 << 16;
+    private static final long NODE = keyword("node");
+    private static final long EDGE = keyword("edge");
+    private static final long STATION = keyword("station");
+    private static final long FIRE = keyword("fire");
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+    private final byte[] bytes = buffer.array();
+    private int position;
+    private int limit;
+    private int line = 1;
+
+    private final Topology.Builder topology = new Topology.Builder();
+    private final CoordinateIndex ids = new CoordinateIndex(1024);
+    private int[] edges = new int[64];
+    private int edgeCount;
+    private long[] stations = new long[4];
+    private int stationCount;
+    private long fire;
+    private boolean hasFire;
+
+    private GraphParser(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Parses a config file.
+     * @param path config file
+     * @return parsed graph
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is malformed
+     */
+    public static GraphFile parse(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new GraphParser(channel).parse();
+        }
+    }
+
+    private GraphFile parse() throws IOException {
+        int next;
+        while ((next = skipBlank(true)) >= 0) {
+            long word = readKeyword(next);
+            if (word == NODE) {
+                int x = readInt();
+                int y = readInt();
+                if (ids.get(x, y) < 0) {
+                    ids.put(x, y, topology.addNode(x, y));
+                }
+            } else if (word == EDGE) {
+                if (4 * edgeCount + 4 > edges.length) {
+                    edges = Arrays.copyOf(edges, edges.length * 2);
+                }
+                for (int k = 0; k < 4; k++) {
+                    edges[4 * edgeCount + k] = readInt();
+                }
+                edgeCount++;
+            } else if (word == STATION) {
+                if (stationCount == stations.length) {
+                    stations = Arrays.copyOf(stations, stationCount * 2);
+                }
+                stations[stationCount++] = pack(readInt(), readInt());
+            } else if (word == FIRE) {
+                fire = pack(readInt(), readInt());
+                hasFire = true;
+            }
+            skipLine();
+        }
+
+        for (int k = 0; k < edgeCount; k++) {
+            int a = resolve(pack(edges[4 * k], edges[4 * k + 1]), "edge");
+            int b = resolve(pack(edges[4 * k + 2], edges[4 * k + 3]), "edge");
+            topology.addEdge(a, b);
+        }
+        if (stationCount == 0 || !hasFire) {
+            throw new IllegalArgumentException("Config needs a station and a fire line");
+        }
+        int[] stationIds = new int[stationCount];
+        int distinct = 0;
+        for (int k = 0; k < stationCount; k++) {
+            int id = resolve(stations[k], "station");
+            if (!contains(stationIds, distinct, id)) {
+                stationIds[distinct++] = id;
+            }
+        }
+        return new GraphFile(topology.build(), Arrays.copyOf(stationIds, distinct),
+                resolve(fire, "fire"));
+    }
+
+    //Looks up the id of a node named by an edge, station or fire line.
+    private int resolve(long key, String what) {
+        int id = ids.get((int) (key >> 32), (int) key);
+        if (id < 0) {
+            throw new IllegalArgumentException(what + " references unknown node "
+                    + (int) (key >> 32) + " " + (int) key);
+        }
+        return id;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int k = 0; k < count; k++) {
+            if (values[k] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    //Packs up to eight bytes of a keyword into a long for comparison.
+    private static long keyword(String word) {
+        long packed = 0;
+        for (int k = 0; k < word.length(); k++) {
+            packed = (packed << 8) | word.charAt(k);
+        }
+        return packed;
+    }
+
+    private long readKeyword(int first) throws IOException {
+        long packed = first;
+        int next;
+        int length = 1;
+        while ((next = peek()) > ' ') {
+            position++;
+            packed = length++ < 8 ? (packed << 8) | next : -1;
+        }
+        return packed;
+    }
+
+    private int readInt() throws IOException {
+        int next = skipBlank(false);
+        boolean negative = next == '-';
+        if (negative) {
+            next = read();
+        }
+        if (next < '0' || next > '9') {
+            throw new IllegalArgumentException("Expected a number on line " + line);
+        }
+        int value = 0;
+        while (true) {
+            value = value * 10 + (next - '0');
+            next = peek();
+            if (next < '0' || next > '9') {
+                break;
+            }
+            position++;
+        }
+        return negative ? -value : value;
+    }
+
+    //Skips spaces, and line breaks too when asked, returns the next byte.
+    private int skipBlank(boolean lines) throws IOException {
+        int next;
+        while ((next = read()) == ' ' || next == '\t' || next == '\r'
+                || (lines && next == '\n')) {
+            if (next == '\n') {
+                line++;
+            }
+        }
+        return next;
+    }
+
+    private void skipLine() throws IOException {
+        int next;
+        while ((next = read()) >= 0 && next != '\n') {
+        }
+        line++;
+    }
+
+    private int read() throws IOException {
+        int next = peek();
+        if (next >= 0) {
+            position++;
+        }
+        return next;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit) {
+            buffer.clear();
+            limit = Math.max(channel.read(buffer), 0);
+            position = 0;
+            if (limit == 0) {
+                return -1;
+            }
+        }
+        return bytes[position] & 0xff;
+    }
+}
@@ -0,0 +1,122 @@
+package Mobile_Agents.runtime;
+
+import Mobile_Agents.graph.Partitioner;
+import Mobile_Agents.graph.Topology;
+
+import java.lang.reflect.Method;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interface: ActorExecutor
+ * Description: Drives the SensorNode and Agent actors. An actor is handed to
+ *              the executor whenever it has pending work and returns once its
+ *              inbox is drained, so the number of threads is decided by the
+ *              executor and not by the size of the graph.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public interface ActorExecutor {
+
+    /**
+     * Runs the given actor at some point in the future.
+     * @param actor actor with pending work
+     */
+    void execute(Runnable actor);
+
+    /**
+     * Runs the given task once the delay has passed. Used for delayed
+     * events such as a node catching fire.
+     * @param task task to run
+     * @param delay delay before running the task
+     * @param unit unit of the delay
+     */
+    void schedule(Runnable task, long delay, TimeUnit unit);
+
+    /**
+     * Stops accepting new work and releases the threads of the executor.
+     */
+    void shutdown();
+
+    /**
+     * Gets the clock of the simulation in milliseconds.
+     * @return current time
+     */
+    default long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Gets the source of random numbers actors must use so that a seeded
+     * executor can replay a run.
+     * @return random number generator
+     */
+    default Random random() {
+        return ThreadLocalRandom.current();
+    }
+
+    /**
+     * Creates an executor that runs every actor on its own virtual thread.
+     * Falls back to a work stealing pool sized to the machine when the
+     * running JVM has no virtual threads.
+     * @return virtual thread executor
+     */
+    static ActorExecutor virtualThreads() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return new PooledActorExecutor((ExecutorService) factory.invoke(null));
+        } catch (ReflectiveOperationException e) {
+            return workStealing(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    /**
+     * Creates an executor backed by a fixed size work stealing pool.
+     * @param parallelism number of worker threads
+     * @return pooled executor
+     */
+    static ActorExecutor workStealing(int parallelism) {
+        return new PooledActorExecutor(Executors.newWorkStealingPool(parallelism));
+    }
+
+    /**
+     * Creates an executor from a textual description, "virtual", "pool" or
+     * "pool:N" where N is the number of worker threads.
+     * @param spec executor description
+     * @return matching executor
+     */
+    static ActorExecutor create(String spec) {
+        if (spec == null || spec.equals("virtual")) {
+            return virtualThreads();
+        }
+        if (spec.equals("pool")) {
+            return workStealing(Runtime.getRuntime().availableProcessors());
+        }
+        if (spec.startsWith("pool:")) {
+            return workStealing(Integer.parseInt(spec.substring("pool:".length())));
+        }
+        throw new IllegalArgumentException("Unknown actor executor: " + spec);
+    }
+
+    /**
+     * Creates an executor from a textual description as create(String)
+     * does, also accepting "shards", "shards:N" and "shards:N:METHOD" for a
+     * ShardedActorExecutor with N workers over the given topology. METHOD is
+     * a Partitioner method, tiles by default.
+     * @param spec executor description
+     * @param topology topology of the network the executor will run
+     * @return matching executor
+     */
+    static ActorExecutor create(String spec, Topology topology) {
+        if (spec == null || !(spec.equals("shards") || spec.startsWith("shards:"))) {
+            return create(spec);
+        }
+        String[] parts = spec.split(":");
+        int shards = parts.length > 1 ? Integer.parseInt(parts[1])
+                : Runtime.getRuntime().availableProcessors();
+        String method = parts.length > 2 ? parts[2] : "tiles";
+        return new ShardedActorExecutor(Partitioner.create(method, topology, shards), shards);
+    }
+}
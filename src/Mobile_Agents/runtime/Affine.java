@@ -0,0 +1,18 @@
+package Mobile_Agents.runtime;
+
+/**
+ * Interface: Affine
+ * Description: Implemented by actors that belong to a node of the network. A
+ *              sharded executor runs such an actor on the worker owning that
+ *              node, so the actor and its neighbors share a core and a cache.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public interface Affine {
+
+    /**
+     * Gets the id of the node this actor should run next to. May change
+     * between two runs of the actor, never while it is scheduled.
+     * @return node id
+     */
+    int affinity();
+}
@@ -0,0 +1,45 @@
+package Mobile_Agents.runtime;
+
+import java.util.Collection;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Class: BlockingMailbox
+ * Description: Mailbox backed by a LinkedBlockingQueue, the inbox the nodes
+ *              and agents used before MpscMailbox. Kept as a reference for
+ *              benchmarks.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class BlockingMailbox<T> implements Mailbox<T> {
+    private final LinkedBlockingQueue<T> queue = new LinkedBlockingQueue<>();
+
+    @Override
+    public void offer(T message) {
+        queue.offer(message);
+    }
+
+    @Override
+    public T poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public T take() throws InterruptedException {
+        return queue.take();
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> batch, int max) {
+        return queue.drainTo(batch, max);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+}
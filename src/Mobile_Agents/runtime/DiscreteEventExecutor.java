@@ -0,0 +1,133 @@
+package Mobile_Agents.runtime;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class: DiscreteEventExecutor
+ * Description: Deterministic alternative to the threaded executors. Actors and
+ *              delayed events are kept in a priority queue ordered by virtual
+ *              time and run one at a time on the calling thread, so a whole
+ *              simulation runs as fast as the CPU allows and the same seed
+ *              always replays the same run.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class DiscreteEventExecutor implements ActorExecutor {
+    private final PriorityQueue<Event> events = new PriorityQueue<>();
+    private final Random random;
+    private final long deliveryMillis;
+    private long now;
+    private long sequence;
+    private boolean stopped;
+
+    /**
+     * Creates an executor whose clock starts at zero.
+     * @param seed seed of the random numbers handed to the actors
+     */
+    public DiscreteEventExecutor(long seed) {
+        this(seed, 0);
+    }
+
+    /**
+     * Creates an executor whose clock starts at zero and where an actor
+     * woken by a message runs deliveryMillis after it was sent, modelling
+     * the latency of one hop.
+     * @param seed seed of the random numbers handed to the actors
+     * @param deliveryMillis virtual latency of a message delivery
+     */
+    public DiscreteEventExecutor(long seed, long deliveryMillis) {
+        this.random = new Random(seed);
+        this.deliveryMillis = deliveryMillis;
+    }
+
+    @Override
+    public void execute(Runnable actor) {
+        enqueue(actor, now + deliveryMillis);
+    }
+
+    @Override
+    public void schedule(Runnable task, long delay, TimeUnit unit) {
+        enqueue(task, now + unit.toMillis(delay));
+    }
+
+    @Override
+    public void shutdown() {
+        stopped = true;
+        events.clear();
+    }
+
+    /**
+     * Gets the virtual time in milliseconds since the start of the run.
+     * @return virtual time
+     */
+    @Override
+    public long currentTimeMillis() {
+        return now;
+    }
+
+    @Override
+    public Random random() {
+        return random;
+    }
+
+    /**
+     * Runs events until none are left or the next one lies past the horizon.
+     * @param horizonMillis last virtual time to simulate
+     * @return number of events run
+     */
+    public long run(long horizonMillis) {
+        long count = 0;
+        while (!stopped && !events.isEmpty() && events.peek().time <= horizonMillis) {
+            Event event = events.poll();
+            now = event.time;
+            event.task.run();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Runs events until none are left.
+     * @return number of events run
+     */
+    public long run() {
+        return run(Long.MAX_VALUE);
+    }
+
+    /**
+     * Checks whether any event is still waiting to run.
+     * @return true if the queue is empty
+     */
+    public boolean isIdle() {
+        return events.isEmpty();
+    }
+
+    private void enqueue(Runnable task, long time) {
+        if (!stopped) {
+            events.add(new Event(time, sequence++, task));
+        }
+    }
+
+    /*
+     * Queued event, ordered by time and then by the order it was queued
+     * so that events at the same time run first in, first out.
+     */
+    private static final class Event implements Comparable<Event> {
+        private final long time;
+        private final long sequence;
+        private final Runnable task;
+
+        private Event(long time, long sequence, Runnable task) {
+            this.time = time;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            int byTime = Long.compare(time, other.time);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package Mobile_Agents.runtime;
+
+import java.util.Collection;
+
+/**
+ * Interface: Mailbox
+ * Description: Inbox of an actor. Any thread may offer messages, only the
+ *              actor that owns the mailbox takes them out.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public interface Mailbox<T> {
+
+    /**
+     * Adds a message, never blocks. Safe to call from any thread.
+     * @param message message to add
+     */
+    void offer(T message);
+
+    /**
+     * Removes the oldest message. Owner only.
+     * @return message, null if the mailbox is empty
+     */
+    T poll();
+
+    /**
+     * Removes the oldest message, waiting for one if the mailbox is empty.
+     * Owner only.
+     * @return message
+     * @throws InterruptedException if interrupted while waiting
+     */
+    T take() throws InterruptedException;
+
+    /**
+     * Moves up to max messages into a batch. Owner only.
+     * @param batch collection receiving the messages
+     * @param max largest number of messages to move
+     * @return number of messages moved
+     */
+    int drainTo(Collection<? super T> batch, int max);
+
+    /**
+     * Checks whether a message is waiting. Owner only.
+     * @return true if the mailbox is empty
+     */
+    boolean isEmpty();
+
+    /**
+     * Counts the messages waiting, approximately while producers are
+     * adding more. Owner only.
+     * @return number of messages waiting
+     */
+    int size();
+}
@@ -0,0 +1,160 @@
+package Mobile_Agents.runtime;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Class: MpscMailbox
+ * Description: Lock-free multi producer, single consumer mailbox. Messages
+ *              are stored in a linked list of small arrays: producers claim a
+ *              slot of the tail chunk with one atomic add and publish into it,
+ *              the consumer reads slots in order and moves to the next chunk
+ *              once one is used up. An idle consumer blocked in take() parks
+ *              and is unparked by the first producer that follows. Chunks are
+ *              kept small since every node owns a mailbox, the benchmark shows
+ *              no gain from larger ones. Every chunk knows the sequence
+ *              number of its first slot, so size() is a subtraction.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class MpscMailbox<T> implements Mailbox<T> {
+    private static final int CHUNK_SIZE = 16;
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final VarHandle TAIL;
+    private static final VarHandle CLAIMED;
+    private static final VarHandle NEXT;
+    private static final VarHandle WAITER;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TAIL = lookup.findVarHandle(MpscMailbox.class, "tail", Chunk.class);
+            CLAIMED = lookup.findVarHandle(Chunk.class, "claimed", int.class);
+            NEXT = lookup.findVarHandle(Chunk.class, "next", Chunk.class);
+            WAITER = lookup.findVarHandle(MpscMailbox.class, "waiter", Thread.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile Chunk tail;
+    private volatile Thread waiter;
+    private Chunk head;
+    private int headIndex;
+
+    public MpscMailbox() {
+        head = new Chunk(0);
+        tail = head;
+    }
+
+    @Override
+    public void offer(T message) {
+        Objects.requireNonNull(message);
+        while (true) {
+            Chunk chunk = tail;
+            int index = (int) CLAIMED.getAndAdd(chunk, 1);
+            if (index < CHUNK_SIZE) {
+                SLOT.setVolatile(chunk.slots, index, message);
+                break;
+            }
+            Chunk next = chunk.next;
+            if (next == null) {
+                Chunk fresh = new Chunk(chunk.base + CHUNK_SIZE);
+                next = NEXT.compareAndSet(chunk, null, fresh) ? fresh : chunk.next;
+            }
+            TAIL.compareAndSet(this, chunk, next);
+        }
+        Thread consumer = waiter;
+        if (consumer != null && WAITER.compareAndSet(this, consumer, null)) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        Chunk chunk = head;
+        if (headIndex == CHUNK_SIZE) {
+            Chunk next = chunk.next;
+            if (next == null) {
+                return null;
+            }
+            head = chunk = next;
+            headIndex = 0;
+        }
+        Object message = SLOT.getVolatile(chunk.slots, headIndex);
+        if (message == null) {
+            return null;
+        }
+        chunk.slots[headIndex++] = null;
+        return (T) message;
+    }
+
+    @Override
+    public T take() throws InterruptedException {
+        T message;
+        while ((message = poll()) == null) {
+            waiter = Thread.currentThread();
+            if ((message = poll()) != null) {
+                waiter = null;
+                return message;
+            }
+            LockSupport.park(this);
+            waiter = null;
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> batch, int max) {
+        int count = 0;
+        T message;
+        while (count < max && (message = poll()) != null) {
+            batch.add(message);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        Chunk chunk = head;
+        int index = headIndex;
+        if (index == CHUNK_SIZE) {
+            chunk = chunk.next;
+            if (chunk == null) {
+                return true;
+            }
+            index = 0;
+        }
+        return SLOT.getVolatile(chunk.slots, index) == null;
+    }
+
+    @Override
+    public int size() {
+        Chunk last = tail;
+        long claimed = last.base + Math.min(last.claimed, CHUNK_SIZE);
+        //Counts slots claimed but not yet published, and a tail lagging
+        //behind the head reads as empty.
+        return (int) Math.max(0, claimed - head.base - headIndex);
+    }
+
+    /*
+     * Fixed size block of slots, used once and dropped by the consumer.
+     */
+    private static final class Chunk {
+        private final Object[] slots = new Object[CHUNK_SIZE];
+        private final long base;
+        private volatile int claimed;
+        private volatile Chunk next;
+
+        private Chunk(long base) {
+            this.base = base;
+        }
+    }
+}
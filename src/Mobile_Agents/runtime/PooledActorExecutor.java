@@ -0,0 +1,41 @@
+package Mobile_Agents.runtime;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class: PooledActorExecutor
+ * Description: ActorExecutor that hands actors to a java.util.concurrent
+ *              ExecutorService, either a virtual thread per task executor or
+ *              a work stealing pool. Delayed tasks go through a shared
+ *              TimerWheel.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+class PooledActorExecutor implements ActorExecutor {
+    private static final long TICK_MILLIS = 10;
+    private static final int WHEEL_SIZE = 512;
+
+    private final ExecutorService service;
+    private final TimerWheel timer;
+
+    PooledActorExecutor(ExecutorService service) {
+        this.service = service;
+        this.timer = new TimerWheel(TICK_MILLIS, WHEEL_SIZE, service);
+    }
+
+    @Override
+    public void execute(Runnable actor) {
+        service.execute(actor);
+    }
+
+    @Override
+    public void schedule(Runnable task, long delay, TimeUnit unit) {
+        timer.schedule(task, delay, unit);
+    }
+
+    @Override
+    public void shutdown() {
+        timer.shutdown();
+        service.shutdownNow();
+    }
+}
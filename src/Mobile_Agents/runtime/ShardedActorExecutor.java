@@ -0,0 +1,226 @@
+package Mobile_Agents.runtime;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class: ShardedActorExecutor
+ * Description: ActorExecutor for large maps where the nodes are partitioned
+ *              into shards, each owned by one worker thread. An Affine actor
+ *              always runs on the worker of its node, so a node, its inbox and
+ *              most of its neighbors stay in the cache of one core.
+ *
+ *              Actors scheduled by their own worker go on a plain local queue
+ *              without any atomic operation. Actors for another shard are
+ *              buffered per destination and handed over in batches through
+ *              the destination's MpscMailbox, one atomic add per batch. A
+ *              worker sends its batches once they are full, every BATCH_SIZE
+ *              actors it runs, and before it goes idle, so a handoff is never
+ *              held back while its sender waits.
+ *
+ *              Actors that are not Affine run on the shard that scheduled
+ *              them. Delayed tasks go through a shared TimerWheel and come
+ *              back to that same shard.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class ShardedActorExecutor implements ActorExecutor {
+    private static final int BATCH_SIZE = 64;
+    private static final long TICK_MILLIS = 10;
+    private static final int WHEEL_SIZE = 512;
+
+    private final int[] shardOf;
+    private final Worker[] workers;
+    private final TimerWheel timer;
+    private volatile boolean running = true;
+
+    /**
+     * Creates the executor and starts one worker per shard.
+     * @param shardOf shard of every node id, from a Partitioner
+     * @param shards number of shards
+     */
+    public ShardedActorExecutor(int[] shardOf, int shards) {
+        this.shardOf = shardOf;
+        this.workers = new Worker[shards];
+        for (int shard = 0; shard < shards; shard++) {
+            workers[shard] = new Worker(shard);
+        }
+        this.timer = new TimerWheel(TICK_MILLIS, WHEEL_SIZE, this::execute);
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    @Override
+    public void execute(Runnable actor) {
+        Worker current = currentWorker();
+        int shard;
+        if (actor instanceof Pinned) {
+            shard = ((Pinned) actor).shard;
+        } else if (actor instanceof Affine) {
+            shard = shardOf[((Affine) actor).affinity()];
+        } else {
+            shard = current != null ? current.shard : 0;
+        }
+        if (current == null) {
+            workers[shard].inbox.offer(new Runnable[]{actor});
+        } else if (current.shard == shard) {
+            current.local.addLast(actor);
+        } else {
+            current.send(shard, actor);
+        }
+    }
+
+    @Override
+    public void schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!(task instanceof Affine)) {
+            Worker current = currentWorker();
+            task = new Pinned(task, current != null ? current.shard : 0);
+        }
+        timer.schedule(task, delay, unit);
+    }
+
+    @Override
+    public void shutdown() {
+        running = false;
+        timer.shutdown();
+        for (Worker worker : workers) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Gets the number of shards
+     * @return worker count
+     */
+    public int getShards() {
+        return workers.length;
+    }
+
+    //Worker of this executor running on the calling thread, null for any
+    //other thread.
+    private Worker currentWorker() {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof Worker && ((Worker) thread).owner() == this) {
+            return (Worker) thread;
+        }
+        return null;
+    }
+
+    /*
+     * Thread owning one shard. The local queue and the outgoing batches are
+     * only touched by the worker itself, the inbox is its only shared state.
+     */
+    private final class Worker extends Thread {
+        private final int shard;
+        private final ArrayDeque<Runnable> local = new ArrayDeque<>();
+        private final Mailbox<Runnable[]> inbox = new MpscMailbox<>();
+        private final Runnable[][] outgoing;
+        private final int[] outgoingCount;
+        private int pending;
+
+        private Worker(int shard) {
+            super("shard-" + shard);
+            this.shard = shard;
+            this.outgoing = new Runnable[workers.length][];
+            this.outgoingCount = new int[workers.length];
+            setDaemon(true);
+        }
+
+        private ShardedActorExecutor owner() {
+            return ShardedActorExecutor.this;
+        }
+
+        @Override
+        public void run() {
+            int sinceFlush = 0;
+            while (running) {
+                Runnable actor = local.pollFirst();
+                if (actor != null) {
+                    runActor(actor);
+                    if (++sinceFlush == BATCH_SIZE) {
+                        sinceFlush = 0;
+                        flush();
+                        receive(inbox.poll());
+                    }
+                    continue;
+                }
+                flush();
+                Runnable[] batch = inbox.poll();
+                if (batch == null) {
+                    try {
+                        batch = inbox.take();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                receive(batch);
+            }
+        }
+
+        //Runs one actor. Whatever it throws, errors included, goes to the
+        //thread's handler, which prints it by default, and the shard goes on.
+        private void runActor(Runnable actor) {
+            try {
+                actor.run();
+            } catch (Throwable e) {
+                getUncaughtExceptionHandler().uncaughtException(this, e);
+            }
+        }
+
+        //Moves a batch from another shard to the local queue. A batch ends at
+        //its first empty slot.
+        private void receive(Runnable[] batch) {
+            if (batch == null) return;
+            for (int k = 0; k < batch.length && batch[k] != null; k++) {
+                local.addLast(batch[k]);
+            }
+        }
+
+        //Buffers an actor for another shard, handing the batch over once full.
+        private void send(int destination, Runnable actor) {
+            Runnable[] batch = outgoing[destination];
+            if (batch == null) {
+                batch = outgoing[destination] = new Runnable[BATCH_SIZE];
+                pending++;
+            }
+            batch[outgoingCount[destination]++] = actor;
+            if (outgoingCount[destination] == BATCH_SIZE) {
+                handOver(destination);
+            }
+        }
+
+        //Hands every partly filled batch over.
+        private void flush() {
+            for (int destination = 0; pending > 0 && destination < outgoing.length; destination++) {
+                if (outgoing[destination] != null) {
+                    handOver(destination);
+                }
+            }
+        }
+
+        private void handOver(int destination) {
+            workers[destination].inbox.offer(outgoing[destination]);
+            outgoing[destination] = null;
+            outgoingCount[destination] = 0;
+            pending--;
+        }
+    }
+
+    /*
+     * Delayed task that is not Affine, run back on the shard that scheduled it.
+     */
+    private static final class Pinned implements Runnable {
+        private final Runnable task;
+        private final int shard;
+
+        private Pinned(Runnable task, int shard) {
+            this.task = task;
+            this.shard = shard;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package Mobile_Agents.runtime;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Class: TimerWheel
+ * Description: Hashed timer wheel holding every delayed event of a simulation.
+ *              A single thread advances the wheel one tick at a time and hands
+ *              expired tasks to an executor, so a pending event costs one small
+ *              entry on the heap instead of a sleeping thread.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class TimerWheel {
+    private final long tickNanos;
+    private final Timeout[] wheel;
+    private final int mask;
+    private final Executor dispatcher;
+    private final AtomicReference<Timeout> pending = new AtomicReference<>();
+    private final long startTime = System.nanoTime();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick;
+
+    /**
+     * Creates the wheel and starts its thread.
+     * @param tickMillis length of one tick
+     * @param wheelSize number of buckets, rounded up to a power of two
+     * @param dispatcher executor that runs expired tasks
+     */
+    public TimerWheel(long tickMillis, int wheelSize, Executor dispatcher) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.wheel = new Timeout[size];
+        this.mask = size - 1;
+        this.dispatcher = dispatcher;
+        this.worker = new Thread(this::advance, "timer-wheel");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Runs the task once the delay has passed. Safe to call from any thread.
+     * @param task task to run
+     * @param delay delay before running the task
+     * @param unit unit of the delay
+     */
+    public void schedule(Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(task, System.nanoTime() - startTime + unit.toNanos(delay));
+        Timeout head;
+        do {
+            head = pending.get();
+            timeout.next = head;
+        } while (!pending.compareAndSet(head, timeout));
+    }
+
+    /**
+     * Stops the wheel, pending tasks are dropped.
+     */
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /*
+     * Worker loop, waits for the end of the current tick, files newly
+     * scheduled timeouts into their buckets and expires the current bucket.
+     */
+    private void advance() {
+        while (running) {
+            long deadline = tickNanos * (tick + 1);
+            long sleep;
+            while (running && (sleep = deadline - (System.nanoTime() - startTime)) > 0) {
+                LockSupport.parkNanos(sleep);
+            }
+            transferPending();
+            expire(wheel[(int) (tick & mask)], deadline);
+            tick++;
+        }
+    }
+
+    //Moves every timeout scheduled since the last tick into the wheel.
+    private void transferPending() {
+        Timeout timeout = pending.getAndSet(null);
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            long ticks = timeout.deadline / tickNanos;
+            timeout.rounds = (ticks - tick) / wheel.length;
+            int index = (int) (Math.max(ticks, tick) & mask);
+            timeout.next = wheel[index];
+            wheel[index] = timeout;
+            timeout = next;
+        }
+    }
+
+    //Dispatches the timeouts of a bucket that are due and ages the rest.
+    private void expire(Timeout head, long deadline) {
+        Timeout previous = null;
+        Timeout timeout = head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.rounds <= 0 && timeout.deadline <= deadline) {
+                if (previous == null) {
+                    wheel[(int) (tick & mask)] = next;
+                } else {
+                    previous.next = next;
+                }
+                timeout.next = null;
+                dispatcher.execute(timeout.task);
+            } else {
+                timeout.rounds--;
+                previous = timeout;
+            }
+            timeout = next;
+        }
+    }
+
+    /*
+     * Entry of the wheel, linked both into the pending stack and into
+     * its bucket through the same next field.
+     */
+    private static final class Timeout {
+        private final Runnable task;
+        private final long deadline;
+        private long rounds;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+    }
+}
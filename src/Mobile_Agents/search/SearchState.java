@@ -0,0 +1,76 @@
+package Mobile_Agents.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Class: SearchState
+ * Description: Working memory of an agent's search, a bitset of visited node
+ *              ids and an int array used as the stack or queue of the search.
+ *              Kept by the agent and reused between searches so a search does
+ *              not allocate once the buffers have grown.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class SearchState {
+    final BitSet visited = new BitSet();
+    private int[] frontier = new int[16];
+    private int head;
+    private int tail;
+    private long steps;
+
+    /**
+     * Forgets the previous search.
+     */
+    public void reset() {
+        visited.clear();
+        head = 0;
+        tail = 0;
+        steps = 0;
+    }
+
+    /**
+     * Gets the number of nodes examined by the last search
+     * @return steps
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    void step() {
+        steps++;
+    }
+
+    void push(int id) {
+        if (tail == frontier.length) {
+            frontier = Arrays.copyOf(frontier, frontier.length * 2);
+        }
+        frontier[tail++] = id;
+    }
+
+    int size() {
+        return tail;
+    }
+
+    int get(int index) {
+        return frontier[index];
+    }
+
+    //Moves the entry at index to the top of the stack.
+    void swapTop(int index) {
+        int top = frontier[tail - 1];
+        frontier[tail - 1] = frontier[index];
+        frontier[index] = top;
+    }
+
+    boolean isEmpty() {
+        return head == tail;
+    }
+
+    int pop() {
+        return frontier[--tail];
+    }
+
+    int poll() {
+        return frontier[head++];
+    }
+}
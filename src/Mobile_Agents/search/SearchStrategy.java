@@ -0,0 +1,200 @@
+package Mobile_Agents.search;
+
+import Mobile_Agents.SensorNetwork;
+import Mobile_Agents.SensorNode;
+import Mobile_Agents.graph.Adjacency;
+
+import java.util.Random;
+
+/**
+ * Enum: SearchStrategy
+ * Description: Ways an agent can look for a node that is close to the fire.
+ *              Every strategy is iterative, works on node ids and keeps its
+ *              visited set in a SearchState bitset, so a search costs at most
+ *              linear time in the size of the graph and never recurses.
+ *
+ *              An agent may pass through nodes that are not burning and do not
+ *              hold an agent, and stops on the first node that is CLOSE_TO_FIRE.
+ *              In a distributed simulation it stays on the nodes of its own
+ *              process.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public enum SearchStrategy {
+    /**
+     * Walks to a random neighbor at every step, preferring ones it has not
+     * seen yet, for at most WALK_LENGTH steps per node of the graph.
+     */
+    RANDOM_WALK {
+        @Override
+        public int search(SensorNetwork network, int start, SearchState state, Random random) {
+            Adjacency neighbors = network.getTopology().neighbors();
+            long budget = WALK_LENGTH * (long) network.size();
+            int current = start;
+            state.visited.set(start);
+            for (long step = 0; step < budget; step++) {
+                state.step();
+                if (isTarget(network, current, start)) {
+                    return current;
+                }
+                int degree = neighbors.degree(current);
+                int offset = degree > 0 ? random.nextInt(degree) : 0;
+                int next = -1;
+                for (int k = 0; k < degree; k++) {
+                    int candidate = neighbors.target(neighbors.start(current) + (offset + k) % degree);
+                    if (isTraversable(network, candidate)) {
+                        if (!state.visited.get(candidate)) {
+                            next = candidate;
+                            break;
+                        }
+                        if (next < 0) {
+                            next = candidate;
+                        }
+                    }
+                }
+                if (next < 0) {
+                    return -1;
+                }
+                state.visited.set(next);
+                current = next;
+            }
+            return -1;
+        }
+    },
+
+    /**
+     * Depth first search visiting neighbors from a random starting point,
+     * the iterative form of the original recursive search.
+     */
+    DFS {
+        @Override
+        public int search(SensorNetwork network, int start, SearchState state, Random random) {
+            Adjacency neighbors = network.getTopology().neighbors();
+            state.visited.set(start);
+            state.push(start);
+            while (!state.isEmpty()) {
+                int current = state.pop();
+                state.step();
+                if (isTarget(network, current, start)) {
+                    return current;
+                }
+                pushNeighbors(network, neighbors, current, state, random);
+            }
+            return -1;
+        }
+    },
+
+    /**
+     * Breadth first search, finds the fire closest to the agent in hops.
+     */
+    BFS {
+        @Override
+        public int search(SensorNetwork network, int start, SearchState state, Random random) {
+            Adjacency neighbors = network.getTopology().neighbors();
+            state.visited.set(start);
+            state.push(start);
+            while (!state.isEmpty()) {
+                int current = state.poll();
+                state.step();
+                if (isTarget(network, current, start)) {
+                    return current;
+                }
+                pushNeighbors(network, neighbors, current, state, random);
+            }
+            return -1;
+        }
+    },
+
+    /**
+     * Depth first search that always continues with the neighbor that has
+     * the most burning or threatened neighbors of its own, climbing the
+     * gradient towards the fire and backtracking when it runs dry.
+     */
+    GRADIENT {
+        @Override
+        public int search(SensorNetwork network, int start, SearchState state, Random random) {
+            Adjacency neighbors = network.getTopology().neighbors();
+            state.visited.set(start);
+            state.push(start);
+            while (!state.isEmpty()) {
+                int current = state.pop();
+                state.step();
+                if (isTarget(network, current, start)) {
+                    return current;
+                }
+                int first = state.size();
+                pushNeighbors(network, neighbors, current, state, random);
+                int hottest = -1;
+                int hottestHeat = 0;
+                for (int index = first; index < state.size(); index++) {
+                    int heat = heat(network, neighbors, state.get(index));
+                    if (heat > hottestHeat) {
+                        hottestHeat = heat;
+                        hottest = index;
+                    }
+                }
+                if (hottest >= 0) {
+                    state.swapTop(hottest);
+                }
+            }
+            return -1;
+        }
+    };
+
+    private static final int WALK_LENGTH = 4;
+
+    /**
+     * Looks for a node close to the fire.
+     * @param network network to search
+     * @param start id of the node the agent is on
+     * @param state working memory, reset by the caller
+     * @param random source of random numbers
+     * @return id of a node that is CLOSE_TO_FIRE, -1 if none was found
+     */
+    public abstract int search(SensorNetwork network, int start, SearchState state, Random random);
+
+    //A node the agent can fortify, its own node or one without an agent.
+    private static boolean isTarget(SensorNetwork network, int id, int start) {
+        SensorNode node = network.node(id);
+        return !node.isRemote() && node.getNodeStatus() == SensorNode.Status.CLOSE_TO_FIRE
+                && (id == start || node.getNodeAgent() == null);
+    }
+
+    //A node the agent can move through.
+    private static boolean isTraversable(SensorNetwork network, int id) {
+        SensorNode node = network.node(id);
+        return !node.isRemote() && node.getNodeStatus() != SensorNode.Status.ON_FIRE
+                && node.getNodeAgent() == null;
+    }
+
+    //Pushes the unvisited neighbors the agent can move to, starting at a
+    //random neighbor so that ties are broken differently on every search.
+    private static void pushNeighbors(SensorNetwork network, Adjacency neighbors, int current,
+                                      SearchState state, Random random) {
+        int degree = neighbors.degree(current);
+        if (degree == 0) {
+            return;
+        }
+        int offset = random.nextInt(degree);
+        for (int k = 0; k < degree; k++) {
+            int next = neighbors.target(neighbors.start(current) + (offset + k) % degree);
+            if (!state.visited.get(next) && isTraversable(network, next)) {
+                state.visited.set(next);
+                state.push(next);
+            }
+        }
+    }
+
+    //Counts how threatened the neighborhood of a node is.
+    private static int heat(SensorNetwork network, Adjacency neighbors, int id) {
+        int heat = 0;
+        for (int k = neighbors.start(id); k < neighbors.end(id); k++) {
+            SensorNode.Status status = network.node(neighbors.target(k)).getNodeStatus();
+            if (status == SensorNode.Status.ON_FIRE) {
+                heat += 2;
+            } else if (status == SensorNode.Status.CLOSE_TO_FIRE) {
+                heat++;
+            }
+        }
+        return heat;
+    }
+}
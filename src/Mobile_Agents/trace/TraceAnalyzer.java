@@ -0,0 +1,118 @@
+package Mobile_Agents.trace;
+
+import Mobile_Agents.Message;
+import Mobile_Agents.SensorNode;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Class: TraceAnalyzer
+ * Description: Headless summary of a trace: the time span, deliveries to
+ *              nodes and to agents by message type, status changes by status, the nodes that
+ *              received the most messages and how the fire progressed.
+ *              Only the records between --from and --to are read, found
+ *              through the trace index. Times are milliseconds since the
+ *              first record of the trace.
+ *
+ *              Usage: TraceAnalyzer [--from MILLIS] [--to MILLIS] trace
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class TraceAnalyzer {
+    private static final int BUSIEST = 10;
+
+    public static void main(String[] args) throws IOException {
+        long from = Long.MIN_VALUE;
+        long to = Long.MAX_VALUE;
+        String trace = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--from": {
+                    from = Long.parseLong(args[++i]);
+                    break;
+                }
+                case "--to": {
+                    to = Long.parseLong(args[++i]);
+                    break;
+                }
+                default: {
+                    trace = args[i];
+                }
+            }
+        }
+        if (trace == null) {
+            System.err.println("Usage: TraceAnalyzer [--from MILLIS] [--to MILLIS] trace");
+            System.exit(1);
+        }
+
+        TraceReader reader = new TraceReader(Paths.get(trace));
+        long[] deliveries = new long[Message.Type.values().length];
+        long[] agentDeliveries = new long[Message.Type.values().length];
+        long[] statuses = new long[SensorNode.Status.values().length];
+        Map<Integer, Long> perNode = new HashMap<>();
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        long records = 0;
+        int burned = 0;
+        long[] burnTimes = new long[16];
+
+        for (long record = reader.seek(from); record < reader.size(); record++) {
+            long time = reader.time(record);
+            if (time < from || time > to) continue;
+            records++;
+            first = Math.min(first, time);
+            last = Math.max(last, time);
+            if (reader.isStatus(record)) {
+                SensorNode.Status status = reader.status(record);
+                statuses[status.ordinal()]++;
+                if (status == SensorNode.Status.ON_FIRE || status == SensorNode.Status.CASUALTY) {
+                    if (burned == burnTimes.length) {
+                        burnTimes = Arrays.copyOf(burnTimes, burned * 2);
+                    }
+                    burnTimes[burned++] = time;
+                }
+            } else if (reader.isAgentDelivery(record)) {
+                agentDeliveries[reader.messageType(record).ordinal()]++;
+            } else {
+                deliveries[reader.messageType(record).ordinal()]++;
+                perNode.merge(reader.node(record), 1L, Long::sum);
+            }
+        }
+
+        System.out.println("records," + records);
+        System.out.println("first_ms," + (records == 0 ? 0 : first));
+        System.out.println("last_ms," + (records == 0 ? 0 : last));
+        for (Message.Type type : Message.Type.values()) {
+            System.out.println("delivered." + type + "," + deliveries[type.ordinal()]);
+        }
+        for (Message.Type type : Message.Type.values()) {
+            System.out.println("agent_delivered." + type + "," + agentDeliveries[type.ordinal()]);
+        }
+        for (SensorNode.Status status : SensorNode.Status.values()) {
+            System.out.println("status." + status + "," + statuses[status.ordinal()]);
+        }
+        //A burned node shows ON_FIRE, or CASUALTY if it held an agent.
+        Arrays.sort(burnTimes, 0, burned);
+        for (int percent : new int[]{10, 50, 90, 100}) {
+            long time = burned == 0 ? 0 : burnTimes[Math.max(0, (burned * percent + 99) / 100 - 1)];
+            System.out.println("burned_p" + percent + "_ms," + time);
+        }
+
+        PriorityQueue<Map.Entry<Integer, Long>> busiest =
+                new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<Integer, Long> entry : perNode.entrySet()) {
+            busiest.add(entry);
+            if (busiest.size() > BUSIEST) busiest.poll();
+        }
+        StringBuilder nodes = new StringBuilder();
+        while (!busiest.isEmpty()) {
+            Map.Entry<Integer, Long> entry = busiest.poll();
+            nodes.insert(0, ";" + entry.getKey() + "=" + entry.getValue());
+        }
+        System.out.println("busiest_nodes," + (nodes.length() > 0 ? nodes.substring(1) : ""));
+    }
+}
@@ -0,0 +1,85 @@
+package Mobile_Agents.trace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Class: TraceIndex
+ * Description: Sparse time index of a trace. For every block of INTERVAL
+ *              records it keeps the latest time of all records before the
+ *              block, so every record at or after a time t is found at or
+ *              after the last block whose entry is before t, even when the
+ *              threads of a run recorded slightly out of order.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+class TraceIndex {
+    static final int INTERVAL = 4096;
+
+    private final long[] latestBefore;
+
+    private TraceIndex(long[] latestBefore) {
+        this.latestBefore = latestBefore;
+    }
+
+    static Path pathOf(Path trace) {
+        return trace.resolveSibling(trace.getFileName() + ".idx");
+    }
+
+    static TraceIndex build(TraceReader reader) {
+        long blocks = (reader.size() + INTERVAL - 1) / INTERVAL;
+        long[] latestBefore = new long[(int) Math.max(1, blocks)];
+        long latest = Long.MIN_VALUE;
+        for (long record = 0; record < reader.size(); record++) {
+            if (record % INTERVAL == 0) {
+                latestBefore[(int) (record / INTERVAL)] = latest;
+            }
+            latest = Math.max(latest, reader.time(record));
+        }
+        if (reader.size() == 0) {
+            latestBefore[0] = Long.MIN_VALUE;
+        }
+        return new TraceIndex(latestBefore);
+    }
+
+    static TraceIndex read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path)))) {
+            long[] latestBefore = new long[in.readInt()];
+            for (int k = 0; k < latestBefore.length; k++) {
+                latestBefore[k] = in.readLong();
+            }
+            return new TraceIndex(latestBefore);
+        }
+    }
+
+    void write(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(latestBefore.length);
+            for (long time : latestBefore) {
+                out.writeLong(time);
+            }
+        }
+    }
+
+    //Binary search for the last block whose earlier records are all
+    //before the time. The entries never decrease.
+    long seek(long millis) {
+        int low = 0;
+        int high = latestBefore.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (latestBefore[middle] < millis) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return (long) low * INTERVAL;
+    }
+}
@@ -0,0 +1,162 @@
+package Mobile_Agents.trace;
+
+import Mobile_Agents.Message;
+import Mobile_Agents.SensorNode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class: TraceReader
+ * Description: Random access to the records of a trace written by
+ *              TraceRecorder. The file is memory mapped in segments, reading
+ *              record i is a few absolute gets. Records are in the order their
+ *              slots were claimed, which is time order for a discrete event
+ *              run and nearly so for a threaded one. Times are milliseconds
+ *              since the first record.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class TraceReader {
+    private static final int SEGMENT_RECORDS = 1 << 26;
+    private static final Message.Type[] TYPES = Message.Type.values();
+    private static final SensorNode.Status[] STATUSES = SensorNode.Status.values();
+
+    private final Path path;
+    private final long size;
+    private final long originMillis;
+    private final ByteBuffer[] segments;
+    private TraceIndex index;
+
+    /**
+     * Maps a trace.
+     * @param path trace file
+     * @throws IOException if the file cannot be read or is not a trace
+     */
+    public TraceReader(Path path) throws IOException {
+        this.path = path;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(TraceRecorder.HEADER_BYTES);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < 16 || header.getInt(0) != TraceRecorder.MAGIC
+                    || header.getInt(4) != TraceRecorder.RECORD_BYTES) {
+                throw new IOException(path + " is not a trace");
+            }
+            long available = (channel.size() - TraceRecorder.HEADER_BYTES) / TraceRecorder.RECORD_BYTES;
+            this.size = Math.min(header.getLong(8), available);
+            this.originMillis = header.getLong(16);
+            int count = (int) ((size + SEGMENT_RECORDS - 1) / SEGMENT_RECORDS);
+            this.segments = new ByteBuffer[count];
+            for (int k = 0; k < count; k++) {
+                long first = (long) k * SEGMENT_RECORDS;
+                long records = Math.min(SEGMENT_RECORDS, size - first);
+                segments[k] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        TraceRecorder.HEADER_BYTES + first * TraceRecorder.RECORD_BYTES,
+                        records * TraceRecorder.RECORD_BYTES);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of records
+     * @return record count
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Gets the clock time of the first record, the origin of every time
+     * in the trace
+     * @return origin in clock milliseconds
+     */
+    public long getOriginMillis() {
+        return originMillis;
+    }
+
+    /**
+     * Gets the time of a record
+     * @param record record index
+     * @return milliseconds since the first record
+     */
+    public long time(long record) {
+        return segment(record).getLong(offset(record));
+    }
+
+    public int node(long record) {
+        return segment(record).getInt(offset(record) + 8);
+    }
+
+    /**
+     * Checks whether a record is a status change rather than a delivery
+     * @param record record index
+     * @return true for a status change
+     */
+    public boolean isStatus(long record) {
+        return segment(record).get(offset(record) + 12) == TraceRecorder.STATUS;
+    }
+
+    /**
+     * Checks whether a record is a delivery to an agent rather than to a
+     * node
+     * @param record record index
+     * @return true for a delivery to the agent on the record's node
+     */
+    public boolean isAgentDelivery(long record) {
+        return segment(record).get(offset(record) + 12) == TraceRecorder.AGENT_DELIVERY;
+    }
+
+    /**
+     * Gets the message type of a delivery record
+     * @param record record index
+     * @return message type
+     */
+    public Message.Type messageType(long record) {
+        return TYPES[segment(record).get(offset(record) + 13)];
+    }
+
+    /**
+     * Gets the status of a status record
+     * @param record record index
+     * @return status displayed
+     */
+    public SensorNode.Status status(long record) {
+        return STATUSES[segment(record).get(offset(record) + 13)];
+    }
+
+    /**
+     * Gets the hop count of a delivered report
+     * @param record record index
+     * @return hops, 0 for other records
+     */
+    public int hops(long record) {
+        return segment(record).getShort(offset(record) + 14);
+    }
+
+    /**
+     * Finds where to start reading to see every record at or after a time.
+     * Uses the index written next to the trace, or builds it on first use.
+     * @param millis time
+     * @return index of the first record that can be at or after the time
+     * @throws IOException if the index cannot be read
+     */
+    public long seek(long millis) throws IOException {
+        if (index == null) {
+            Path indexPath = TraceIndex.pathOf(path);
+            index = Files.exists(indexPath) ? TraceIndex.read(indexPath) : TraceIndex.build(this);
+        }
+        return index.seek(millis);
+    }
+
+    private ByteBuffer segment(long record) {
+        return segments[(int) (record / SEGMENT_RECORDS)];
+    }
+
+    private static int offset(long record) {
+        return (int) (record % SEGMENT_RECORDS) * TraceRecorder.RECORD_BYTES;
+    }
+}
@@ -0,0 +1,170 @@
+package Mobile_Agents.trace;
+
+import Mobile_Agents.Message;
+import Mobile_Agents.SensorNode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class: TraceRecorder
+ * Description: Append-only binary trace of a simulation, every message put
+ *              into the inbox of a node or of an agent and every change of
+ *              the status a node displays. An agent is recorded by the id of
+ *              the node it resides on. Records have a fixed size and are written straight
+ *              into memory mapped segments of the file: a writer claims its
+ *              slot with one atomic add and fills it with absolute puts, so
+ *              any number of threads record without locking.
+ *
+ *              Times are stored relative to the first record, so a trace of a
+ *              run on a wall clock starts at 0 like one of a discrete event
+ *              run. The clock time of that first record is kept in the header.
+ *
+ *              Closing the recorder writes the record count into the header
+ *              and an index of the trace next to it for TraceReader.seek.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class TraceRecorder implements Closeable {
+    static final int MAGIC = 0x54524332; // "TRC2"
+    static final int HEADER_BYTES = 32;
+    static final int RECORD_BYTES = 16;
+    static final byte DELIVERY = 1;
+    static final byte STATUS = 2;
+    static final byte AGENT_DELIVERY = 3;
+    private static final int SEGMENT_BYTES = 1 << 26;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final AtomicLong records = new AtomicLong();
+    private final AtomicLong origin = new AtomicLong(Long.MIN_VALUE);
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+
+    /**
+     * Creates the trace file, replacing any existing one.
+     * @param path trace file
+     */
+    public TraceRecorder(Path path) {
+        this.path = path;
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Records a message put into the inbox of a node
+     * @param millis clock time of the delivery
+     * @param node id of the receiving node
+     * @param message message delivered
+     * @param hops hops of a report, 0 for other messages
+     */
+    public void delivery(long millis, int node, Message message, int hops) {
+        write(millis, node, DELIVERY, message.getMessageType().ordinal(), hops);
+    }
+
+    /**
+     * Records a message put into the inbox of an agent
+     * @param millis clock time of the delivery
+     * @param node id of the node the agent resides on
+     * @param message message delivered
+     */
+    public void agentDelivery(long millis, int node, Message message) {
+        write(millis, node, AGENT_DELIVERY, message.getMessageType().ordinal(), 0);
+    }
+
+    /**
+     * Records the new status displayed by a node
+     * @param millis clock time of the change
+     * @param node id of the node
+     * @param status status displayed
+     */
+    public void status(long millis, int node, SensorNode.Status status) {
+        write(millis, node, STATUS, status.ordinal(), 0);
+    }
+
+    /**
+     * Gets the number of records written so far
+     * @return record count
+     */
+    public long size() {
+        return records.get();
+    }
+
+    /**
+     * Writes the header and the index and closes the file. Records written
+     * concurrently with close are lost.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            long count = records.get();
+            ByteBuffer header = segment(0);
+            header.putInt(0, MAGIC);
+            header.putInt(4, RECORD_BYTES);
+            header.putLong(8, count);
+            header.putLong(16, Math.max(origin.get(), 0));
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+            channel.truncate(HEADER_BYTES + count * RECORD_BYTES);
+            channel.close();
+            TraceIndex.build(new TraceReader(path)).write(TraceIndex.pathOf(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //The first writer sets the origin. A thread that read its clock just
+    //before it may be a millisecond early and is recorded at 0.
+    private void write(long millis, int node, byte kind, int value, int extra) {
+        long start = origin.get();
+        if (start == Long.MIN_VALUE && origin.compareAndSet(Long.MIN_VALUE, millis)) {
+            start = millis;
+        } else if (start == Long.MIN_VALUE) {
+            start = origin.get();
+        }
+        long offset = HEADER_BYTES + records.getAndIncrement() * RECORD_BYTES;
+        ByteBuffer segment = segment((int) (offset / SEGMENT_BYTES));
+        int position = (int) (offset % SEGMENT_BYTES);
+        segment.putLong(position, Math.max(millis - start, 0));
+        segment.putInt(position + 8, node);
+        segment.put(position + 12, kind);
+        segment.put(position + 13, (byte) value);
+        segment.putShort(position + 14, (short) Math.min(extra, Short.MAX_VALUE));
+    }
+
+    //Segments are mapped on first use, growing the file.
+    private ByteBuffer segment(int index) {
+        MappedByteBuffer[] current = segments;
+        if (index < current.length) {
+            return current[index];
+        }
+        synchronized (this) {
+            current = segments;
+            if (index >= current.length) {
+                current = Arrays.copyOf(current, index + 1);
+                try {
+                    for (int k = segments.length; k <= index; k++) {
+                        current[k] = channel.map(FileChannel.MapMode.READ_WRITE,
+                                (long) k * SEGMENT_BYTES, SEGMENT_BYTES);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                segments = current;
+            }
+            return current[index];
+        }
+    }
+}
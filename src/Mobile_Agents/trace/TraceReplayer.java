@@ -0,0 +1,92 @@
+package Mobile_Agents.trace;
+
+import Mobile_Agents.event.EventBus;
+import Mobile_Agents.event.MessageDelivered;
+import Mobile_Agents.event.NodeStatusChanged;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class: TraceReplayer
+ * Description: Plays a trace back onto an event bus, as NodeStatusChanged
+ *              and MessageDelivered events, deliveries to agents included, so the GUI or any other listener
+ *              sees the run again without simulating it. The time between
+ *              records is divided by the speed; a speed of 0 replays as fast
+ *              as the listeners allow.
+ *
+ *              Replay can start at any time: the status changes before it are
+ *              published at once so the listeners catch up with the state of
+ *              the nodes, and deliveries before it are skipped.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+public class TraceReplayer implements Runnable {
+    private final TraceReader reader;
+    private final EventBus events;
+    private final long fromMillis;
+    private final double speed;
+
+    /**
+     * @param reader trace
+     * @param events bus receiving the events
+     * @param fromMillis time to start at, in milliseconds since the first
+     *                   record
+     * @param speed trace milliseconds per real millisecond, 0 for no delay
+     */
+    public TraceReplayer(TraceReader reader, EventBus events, long fromMillis, double speed) {
+        this.reader = reader;
+        this.events = events;
+        this.fromMillis = fromMillis;
+        this.speed = speed;
+    }
+
+    /**
+     * Replays the trace on the calling thread, returning at its end or when
+     * the thread is interrupted.
+     */
+    @Override
+    public void run() {
+        long start;
+        try {
+            start = reader.seek(fromMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (long record = 0; record < start; record++) {
+            if (reader.isStatus(record)) {
+                publish(record);
+            }
+        }
+        long beginNanos = System.nanoTime();
+        for (long record = start; record < reader.size(); record++) {
+            long time = reader.time(record);
+            if (time < fromMillis) {
+                if (reader.isStatus(record)) publish(record);
+                continue;
+            }
+            if (speed > 0) {
+                long dueNanos = beginNanos + (long) ((time - fromMillis) * 1e6 / speed);
+                long waitNanos = dueNanos - System.nanoTime();
+                if (waitNanos > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(waitNanos);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+            publish(record);
+        }
+    }
+
+    private void publish(long record) {
+        if (reader.isStatus(record)) {
+            events.publish(new NodeStatusChanged(reader.node(record), reader.status(record)));
+        } else if (events.hasSubscribers(MessageDelivered.class)) {
+            events.publish(new MessageDelivered(reader.node(record), reader.messageType(record),
+                    reader.time(record), reader.isAgentDelivery(record)));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package Mobile_Agents.distributed;
+
+import Mobile_Agents.Message;
+import Mobile_Agents.NodeDeath;
+import Mobile_Agents.Report;
+import Mobile_Agents.ReportBatch;
+import Mobile_Agents.RouteUpdate;
+import Mobile_Agents.graph.ForwardingTable;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class: MessageCodecTest
+ * Description: Every message decodes to what was encoded, within the size
+ *              the codec announced for it.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+class MessageCodecTest {
+    @Test
+    void controlSignalsDecodeToTheSharedInstance() {
+        for (Message.Type type : new Message.Type[]{Message.Type.AGENT_CREATION,
+                Message.Type.CATCH_FIRE,
+                Message.Type.FORTIFICATION, Message.Type.FLUSH}) {
+            assertSame(Message.of(type), roundTrip(Message.of(type)));
+        }
+    }
+
+    @Test
+    void reportsKeepEveryField() {
+        Report report = new Report("Agent-7 é中🔥", 1_700_000_000_123L, -42, 17, 9, 3, 2);
+        assertSameReport(report, (Report) roundTrip(report));
+        assertSameReport(new Report("", 0, 0, 0), (Report) roundTrip(new Report("", 0, 0, 0)));
+    }
+
+    @Test
+    void deathsKeepTheirSender() {
+        assertEquals(4_321, ((NodeDeath) roundTrip(new NodeDeath(4_321))).getFrom());
+    }
+
+    @Test
+    void routeUpdatesKeepEveryField() {
+        RouteUpdate update = (RouteUpdate) roundTrip(new RouteUpdate(123_456, 7, 99));
+        assertEquals(123_456, update.getFrom());
+        assertEquals(7, update.getCost());
+        assertEquals(99, update.getVia());
+        update = (RouteUpdate) roundTrip(new RouteUpdate(5, ForwardingTable.UNREACHABLE, -1));
+        assertEquals(ForwardingTable.UNREACHABLE, update.getCost());
+        assertEquals(-1, update.getVia());
+    }
+
+    @Test
+    void batchesKeepTheirReportsInOrder() {
+        Report[] reports = new Report[40];
+        for (int k = 0; k < reports.length; k++) {
+            reports[k] = new Report("Agent" + k, k * 1_000L, k, -k, k % 5, k % 3, k % 2);
+        }
+        ReportBatch batch = (ReportBatch) roundTrip(new ReportBatch(reports));
+        assertEquals(reports.length, batch.size());
+        for (int k = 0; k < reports.length; k++) {
+            assertSameReport(reports[k], batch.get(k));
+        }
+    }
+
+    @Test
+    void messagesFollowEachOtherInOneBuffer() {
+        Message[] messages = {Message.CATCH_FIRE, new NodeDeath(8), new Report("A", 1, 2, 3), new RouteUpdate(1, 2, 3),
+                new ReportBatch(new Report[]{new Report("B", 4, 5, 6)}), Message.FLUSH};
+        int size = 0;
+        for (Message message : messages) {
+            size += MessageCodec.maxSize(message);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (Message message : messages) {
+            MessageCodec.write(buffer, message);
+        }
+        buffer.flip();
+        for (Message message : messages) {
+            assertEquals(message.getMessageType(), MessageCodec.read(buffer).getMessageType());
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+
+    //Encodes into a buffer of exactly maxSize bytes and decodes it again.
+    private static Message roundTrip(Message message) {
+        ByteBuffer buffer = ByteBuffer.allocate(MessageCodec.maxSize(message));
+        MessageCodec.write(buffer, message);
+        buffer.flip();
+        int written = buffer.remaining();
+        Message decoded = MessageCodec.read(buffer);
+        assertEquals(written, buffer.position(), "bytes read for " + message);
+        assertEquals(message.getMessageType(), decoded.getMessageType());
+        return decoded;
+    }
+
+    private static void assertSameReport(Report expected, Report actual) {
+        assertEquals(expected.getAgentName(), actual.getAgentName());
+        assertEquals(expected.getAgentTimeCreation(), actual.getAgentTimeCreation());
+        assertEquals(expected.getX(), actual.getX());
+        assertEquals(expected.getY(), actual.getY());
+        assertEquals(expected.getHopCount(), actual.getHopCount());
+        assertEquals(expected.getClosestCost(), actual.getClosestCost());
+        assertEquals(expected.getStalledHops(), actual.getStalledHops());
+    }
+}
@@ -0,0 +1,77 @@
+package Mobile_Agents.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class: ChannelBuilderTest
+ * Description: Channels lead one hop closer to a station, and backups avoid
+ *              sharing their first parent when the map allows it.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+class ChannelBuilderTest {
+    private static Adjacency undirected(int size, int[][] edges) {
+        Adjacency.Builder builder = new Adjacency.Builder(size);
+        for (int[] edge : edges) {
+            builder.add(edge[0], edge[1]);
+            builder.add(edge[1], edge[0]);
+        }
+        return builder.build();
+    }
+
+    @Test
+    void backupsPreferAnotherAncestor() {
+        //Node 6 is reached through 3 and 4, both under 1, or through 5 under 2.
+        Adjacency neighbors = undirected(7, new int[][]{{0, 1}, {0, 2}, {1, 3}, {1, 4}, {2, 5},
+                {3, 6}, {4, 6}, {5, 6}});
+        int[] distances = ChannelBuilder.distances(neighbors, 0);
+        for (long seed = 0; seed < 20; seed++) {
+            Adjacency channels = ChannelBuilder.channels(neighbors, distances, 1, new Random(seed));
+            int[] parents = channels.targets(6);
+            assertEquals(2, parents.length);
+            assertTrue(contains(parents, 5), "seed " + seed);
+        }
+        Adjacency all = ChannelBuilder.channels(neighbors, distances, 5, new Random(0));
+        assertEquals(3, all.degree(6), "shared ancestors fill the remaining backups");
+    }
+
+    @Test
+    void channelsLeadOneHopCloser() {
+        Topology.Builder builder = new Topology.Builder();
+        int side = 30;
+        for (int id = 0; id < side * side; id++) {
+            builder.addNode(id % side, id / side);
+            if (id % side > 0) builder.addEdge(id, id - 1);
+            if (id >= side) builder.addEdge(id, id - side);
+            if (id % side > 0 && id >= side) builder.addEdge(id, id - side - 1);
+        }
+        Adjacency neighbors = builder.build().neighbors();
+        int[] distances = ChannelBuilder.distances(neighbors, 0, side * side - 1);
+        for (int backups = 0; backups < 4; backups++) {
+            Adjacency channels = ChannelBuilder.channels(neighbors, distances, backups, new Random(1));
+            for (int id = 0; id < neighbors.size(); id++) {
+                int[] parents = channels.targets(id);
+                assertEquals(distances[id] == 0, parents.length == 0);
+                assertTrue(parents.length <= backups + 1);
+                Set<Integer> distinct = new HashSet<>();
+                for (int parent : parents) {
+                    assertTrue(neighbors.contains(id, parent));
+                    assertEquals(distances[id] - 1, distances[parent]);
+                    assertTrue(distinct.add(parent));
+                }
+            }
+        }
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) return true;
+        }
+        return false;
+    }
+}
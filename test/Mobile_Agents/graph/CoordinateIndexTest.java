@@ -0,0 +1,78 @@
+package Mobile_Agents.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class: CoordinateIndexTest
+ * Description: Lookups of the coordinate index against a HashMap, through
+ *              probing collisions and growth of the table.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+class CoordinateIndexTest {
+    @Test
+    void growsPastTheExpectedSize() {
+        CoordinateIndex index = new CoordinateIndex(2);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(1);
+        for (int id = 0; id < 50_000; id++) {
+            int x = random.nextInt(1_000) - 500;
+            int y = random.nextInt(1_000) - 500;
+            index.put(x, y, id);
+            expected.put(((long) x << 32) | (y & 0xffffffffL), id);
+        }
+        assertEquals(expected.size(), index.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            int x = (int) (entry.getKey() >> 32);
+            int y = (int) (long) entry.getKey();
+            assertEquals(entry.getValue(), index.get(x, y), x + "," + y);
+        }
+    }
+
+    @Test
+    void neighboringCoordinatesStayDistinct() {
+        CoordinateIndex index = new CoordinateIndex(16);
+        int id = 0;
+        for (int x = -20; x < 20; x++) {
+            for (int y = -20; y < 20; y++) {
+                index.put(x, y, id++);
+            }
+        }
+        id = 0;
+        for (int x = -20; x < 20; x++) {
+            for (int y = -20; y < 20; y++) {
+                assertEquals(id++, index.get(x, y));
+            }
+        }
+        assertEquals(-1, index.get(20, 0));
+        assertEquals(-1, index.get(0, -21));
+        assertEquals(-1, index.get(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void putReplacesAndRejectsNegativeIds() {
+        CoordinateIndex index = new CoordinateIndex(4);
+        index.put(3, 4, 1);
+        index.put(3, 4, 2);
+        assertEquals(2, index.get(3, 4));
+        assertEquals(1, index.size());
+        assertThrows(IllegalArgumentException.class, () -> index.put(0, 0, -1));
+    }
+
+    @Test
+    void topologyKeepsTheFirstNodeAtSharedCoordinates() {
+        Topology.Builder builder = new Topology.Builder();
+        builder.addNode(1, 1);
+        builder.addNode(2, 1);
+        builder.addNode(1, 1);
+        CoordinateIndex index = CoordinateIndex.of(builder.build());
+        assertEquals(0, index.get(1, 1));
+        assertEquals(1, index.get(2, 1));
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,105 @@
+package Mobile_Agents.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class: ForwardingTableTest
+ * Description: Route repair of the forwarding table on a station 0 reached
+ *              either through the short path 3-2-1-0 or the long path
+ *              3-6-5-4-0.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+class ForwardingTableTest {
+    private static final int[][] EDGES = {{0, 1}, {1, 2}, {2, 3}, {0, 4}, {4, 5}, {5, 6}, {6, 3}};
+
+    private static ForwardingTable table() {
+        Adjacency.Builder builder = new Adjacency.Builder(7);
+        for (int[] edge : EDGES) {
+            builder.add(edge[0], edge[1]);
+            builder.add(edge[1], edge[0]);
+        }
+        Adjacency neighbors = builder.build();
+        int[] distances = ChannelBuilder.distances(neighbors, 0);
+        return new ForwardingTable(neighbors,
+                ChannelBuilder.channels(neighbors, distances, 1, new Random(0)), distances);
+    }
+
+    @Test
+    void startsOnTheShortestPath() {
+        ForwardingTable routes = table();
+        assertEquals(3, routes.cost(3));
+        assertEquals(2, routes.nextHop(3, n -> true));
+        assertEquals(0, routes.cost(0));
+        assertEquals(-1, routes.nextHop(0, n -> true));
+    }
+
+    @Test
+    void staleRowIsRepairedOnTheNextForward() {
+        ForwardingTable routes = table();
+        routes.update(3, 2, ForwardingTable.UNREACHABLE);
+        assertEquals(3, routes.cost(3), "repair waits for the next forward");
+        assertEquals(6, routes.nextHop(3, n -> true));
+        assertEquals(4, routes.cost(3));
+
+        routes.update(3, 2, 2);
+        assertEquals(2, routes.nextHop(3, n -> true));
+        assertEquals(3, routes.cost(3));
+    }
+
+    @Test
+    void shorterAdvertisementMarksTheRowStale() {
+        ForwardingTable routes = table();
+        routes.update(3, 6, 0);
+        assertEquals(6, routes.nextHop(3, n -> true));
+        assertEquals(1, routes.cost(3));
+    }
+
+    @Test
+    void unrelatedAdvertisementKeepsTheRoute() {
+        ForwardingTable routes = table();
+        routes.update(3, 6, 5);
+        assertEquals(2, routes.nextHop(3, n -> true));
+        assertEquals(3, routes.cost(3));
+    }
+
+    @Test
+    void deathRepairsTheRowBeforeTheNextForward() {
+        ForwardingTable routes = table();
+        assertTrue(routes.drop(3, 2));
+        assertEquals(4, routes.cost(3));
+        assertEquals(6, routes.via(3));
+        assertFalse(routes.drop(3, 2), "a death is only applied once");
+        assertEquals(6, routes.nextHop(3, n -> true));
+    }
+
+    @Test
+    void deathOfAnUnusedNeighborChangesNothing() {
+        ForwardingTable routes = table();
+        assertFalse(routes.drop(2, 3));
+        assertEquals(2, routes.cost(2));
+        assertEquals(1, routes.via(2));
+        assertFalse(routes.drop(0, 1), "stations keep cost 0");
+        assertEquals(0, routes.cost(0));
+        assertFalse(routes.drop(3, 0), "not a neighbor");
+    }
+
+    @Test
+    void deadNextHopFallsBackToTheAlternate() {
+        ForwardingTable routes = table();
+        assertEquals(6, routes.nextHop(3, n -> n != 2));
+        assertEquals(4, routes.cost(3));
+        assertEquals(6, routes.via(3));
+    }
+
+    @Test
+    void routePastTheLimitIsDropped() {
+        ForwardingTable routes = table();
+        routes.update(3, 6, routes.getLimit());
+        assertEquals(-1, routes.nextHop(3, n -> n != 2));
+        assertEquals(ForwardingTable.UNREACHABLE, routes.cost(3));
+    }
+}
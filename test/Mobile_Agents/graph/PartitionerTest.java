@@ -0,0 +1,51 @@
+package Mobile_Agents.graph;
+
+import Mobile_Agents.generator.Generator;
+import Mobile_Agents.generator.TopologyGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class: PartitionerTest
+ * Description: Both partitionings cover every node and keep the shards within
+ *              the allowed imbalance in either direction.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+class PartitionerTest {
+    private static final int SHARDS = 16;
+
+    private static Topology generate(String type) {
+        Generator generator = TopologyGenerator.create(type, 20_000, 4, 1);
+        Topology.Builder builder = new Topology.Builder();
+        for (int id = 0; id < generator.size(); id++) {
+            builder.addNode(generator.x(id), generator.y(id));
+        }
+        for (int id = 0; id < generator.size(); id++) {
+            int from = id;
+            generator.edges(id, other -> builder.addEdge(from, other));
+        }
+        return builder.build();
+    }
+
+    @Test
+    void shardsStayBalanced() {
+        for (String type : new String[]{"grid", "geometric", "knn", "scale-free"}) {
+            Topology topology = generate(type);
+            for (String method : new String[]{"tiles", "edge-cut"}) {
+                int[] shardOf = Partitioner.create(method, topology, SHARDS);
+                int[] sizes = new int[SHARDS];
+                for (int shard : shardOf) {
+                    sizes[shard]++;
+                }
+                int floor = topology.size() / SHARDS;
+                int capacity = (topology.size() + SHARDS - 1) / SHARDS;
+                for (int shard = 0; shard < SHARDS; shard++) {
+                    assertTrue(sizes[shard] >= floor - floor / 20 - 1
+                                    && sizes[shard] <= capacity + capacity / 20 + 1,
+                            method + " on " + type + ": shard " + shard + " has " + sizes[shard]);
+                }
+            }
+        }
+    }
+}
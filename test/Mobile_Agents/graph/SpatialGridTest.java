@@ -0,0 +1,95 @@
+package Mobile_Agents.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class: SpatialGridTest
+ * Description: Compares the grid queries with a scan of every node.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+class SpatialGridTest {
+    private static Topology randomTopology(int size, int span, long seed) {
+        Random random = new Random(seed);
+        Topology.Builder builder = new Topology.Builder();
+        for (int id = 0; id < size; id++) {
+            builder.addNode(random.nextInt(span) - span / 3, random.nextInt(span / 4) - 7);
+        }
+        return builder.build();
+    }
+
+    @Test
+    void rectangleQueryMatchesScan() {
+        Topology topology = randomTopology(2_000, 500, 1);
+        SpatialGrid grid = new SpatialGrid(topology);
+        Random random = new Random(2);
+        for (int query = 0; query < 200; query++) {
+            int x0 = random.nextInt(700) - 300;
+            int y0 = random.nextInt(200) - 50;
+            int x1 = x0 + random.nextInt(100);
+            int y1 = y0 + random.nextInt(100);
+            List<Integer> found = new ArrayList<>();
+            grid.query(x0, y0, x1, y1, found::add);
+            List<Integer> expected = new ArrayList<>();
+            for (int id = 0; id < topology.size(); id++) {
+                if (topology.x(id) >= x0 && topology.x(id) <= x1
+                        && topology.y(id) >= y0 && topology.y(id) <= y1) {
+                    expected.add(id);
+                }
+            }
+            found.sort(null);
+            assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    void nearestMatchesScan() {
+        Topology topology = randomTopology(2_000, 500, 3);
+        SpatialGrid grid = new SpatialGrid(topology);
+        Random random = new Random(4);
+        for (int query = 0; query < 200; query++) {
+            //Points outside the bounds as well as inside.
+            int x = random.nextInt(900) - 400;
+            int y = random.nextInt(300) - 100;
+            int k = 1 + random.nextInt(10);
+            int[] nearest = new int[k];
+            assertEquals(k, grid.nearest(x, y, k, nearest));
+            assertArrayEquals(scanNearest(topology, x, y, k), nearest, "k=" + k + " at " + x + "," + y);
+        }
+    }
+
+    @Test
+    void nearestReturnsEveryNodeOfASmallTopology() {
+        Topology topology = randomTopology(5, 40, 5);
+        SpatialGrid grid = new SpatialGrid(topology);
+        int[] nearest = new int[8];
+        assertEquals(5, grid.nearest(0, 0, 8, nearest));
+        assertArrayEquals(scanNearest(topology, 0, 0, 5), Arrays.copyOf(nearest, 5));
+        assertEquals(0, new SpatialGrid(new Topology.Builder().build()).nearest(0, 0, 1, nearest));
+    }
+
+    //The k closest nodes by squared distance, ties broken by id.
+    private static int[] scanNearest(Topology topology, int x, int y, int k) {
+        Integer[] ids = new Integer[topology.size()];
+        for (int id = 0; id < ids.length; id++) {
+            ids[id] = id;
+        }
+        Arrays.sort(ids, Comparator.<Integer>comparingLong(id -> {
+            long dx = (long) topology.x(id) - x;
+            long dy = (long) topology.y(id) - y;
+            return dx * dx + dy * dy;
+        }).thenComparingInt(id -> id));
+        int[] nearest = new int[k];
+        for (int i = 0; i < k; i++) {
+            nearest[i] = ids[i];
+        }
+        return nearest;
+    }
+}
@@ -0,0 +1,88 @@
+package Mobile_Agents.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class: LogHistogramTest
+ * Description: Percentiles of the histogram against exact ones, which they
+ *              may exceed by at most one sub-bucket.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+class LogHistogramTest {
+    @Test
+    void emptyHistogram() {
+        LogHistogram histogram = new LogHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getPercentile(0.99));
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LogHistogram histogram = new LogHistogram();
+        for (int value = 0; value < 8; value++) {
+            histogram.record(value);
+        }
+        histogram.record(-5);
+        assertEquals(9, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(0.2));
+        assertEquals(3, histogram.getPercentile(0.5));
+        assertEquals(7, histogram.getPercentile(1));
+        assertEquals(28 / 9.0, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    void percentilesAreWithinOneSubBucket() {
+        LogHistogram histogram = new LogHistogram();
+        Random random = new Random(1);
+        long[] values = new long[100_000];
+        for (int k = 0; k < values.length; k++) {
+            values[k] = (long) Math.exp(random.nextDouble() * 30);
+            histogram.record(values[k]);
+        }
+        Arrays.sort(values);
+        for (double fraction : new double[]{0.01, 0.5, 0.9, 0.99, 0.999, 1}) {
+            long exact = values[(int) Math.ceil(fraction * values.length) - 1];
+            long estimate = histogram.getPercentile(fraction);
+            assertTrue(estimate >= exact && estimate <= exact + exact / 8,
+                    "p" + fraction + " " + estimate + " for " + exact);
+        }
+        assertEquals(values[values.length - 1], histogram.getMax());
+    }
+
+    @Test
+    void largestValueHasABucket() {
+        LogHistogram histogram = new LogHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(1L << 62);
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(1));
+        assertEquals((1L << 62) + (1L << 59) - 1, histogram.getPercentile(0.5));
+    }
+
+    @Test
+    void concurrentRecordsAreAllCounted() throws InterruptedException {
+        LogHistogram histogram = new LogHistogram();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            pool.execute(() -> {
+                for (int value = 1; value <= 100_000; value++) {
+                    histogram.record(value);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(400_000, histogram.getCount());
+        assertEquals(100_000, histogram.getMax());
+        assertEquals(50_000.5, histogram.getMean(), 1e-9);
+    }
+}
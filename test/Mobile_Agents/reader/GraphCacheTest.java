@@ -0,0 +1,101 @@
+package Mobile_Agents.reader;
+
+import Mobile_Agents.graph.Topology;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class: GraphCacheTest
+ * Description: Snapshots read back equal to the parsed config, and corrupt
+ *              snapshots are rejected with an IOException.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+class GraphCacheTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void snapshotsReadBackEqual() throws IOException {
+        for (String config : new String[]{"graphs/sample.txt", "graphs/map.txt"}) {
+            GraphFile parsed = GraphParser.parse(Paths.get(config));
+            Path snapshot = directory.resolve("graph.bin");
+            GraphCache.write(parsed, snapshot);
+            assertTrue(GraphCache.isSnapshot(snapshot));
+            assertFalse(GraphCache.isSnapshot(Paths.get(config)));
+            assertSameGraph(parsed, GraphCache.read(snapshot));
+        }
+    }
+
+    @Test
+    void truncatedOrPaddedSnapshotsAreRejected() throws IOException {
+        byte[] bytes = bytes(ints(GraphParser.parse(Paths.get("graphs/sample.txt"))));
+        assertRejected(Arrays.copyOf(bytes, bytes.length - 4));
+        assertRejected(Arrays.copyOf(bytes, bytes.length - 1));
+        assertRejected(Arrays.copyOf(bytes, bytes.length + 4));
+        assertRejected(Arrays.copyOf(bytes, 4 * 6));
+    }
+
+    @Test
+    void corruptCountsAndIdsAreRejected() throws IOException {
+        int[] ints = ints(GraphParser.parse(Paths.get("graphs/sample.txt")));
+        int stations = ints[3];
+        int size = ints[1];
+        int offsets = 6 + stations + 2 * size;
+        int targets = offsets + size + 1;
+
+        assertRejected(bytes(with(ints, 1, -1)));
+        assertRejected(bytes(with(ints, 1, Integer.MAX_VALUE)));
+        assertRejected(bytes(with(ints, 2, ints[2] + 1)));
+        assertRejected(bytes(with(ints, 4, size)));
+        assertRejected(bytes(with(ints, 6, -2)));
+        assertRejected(bytes(with(ints, offsets + 1, ints[targets - 1] + 1)));
+        assertRejected(bytes(with(ints, targets, size)));
+    }
+
+    private void assertRejected(byte[] bytes) throws IOException {
+        Path snapshot = directory.resolve("corrupt.bin");
+        Files.write(snapshot, bytes);
+        assertThrows(IOException.class, () -> GraphCache.read(snapshot));
+    }
+
+    //Contents of the snapshot of a graph as ints.
+    private int[] ints(GraphFile graph) throws IOException {
+        Path snapshot = directory.resolve("source.bin");
+        GraphCache.write(graph, snapshot);
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+        int[] ints = new int[buffer.remaining() / 4];
+        buffer.asIntBuffer().get(ints);
+        return ints;
+    }
+
+    private static byte[] bytes(int[] ints) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 * ints.length);
+        buffer.asIntBuffer().put(ints);
+        return buffer.array();
+    }
+
+    private static int[] with(int[] ints, int index, int value) {
+        int[] copy = ints.clone();
+        copy[index] = value;
+        return copy;
+    }
+
+    private static void assertSameGraph(GraphFile expected, GraphFile actual) {
+        Topology a = expected.getTopology();
+        Topology b = actual.getTopology();
+        assertArrayEquals(expected.getStations(), actual.getStations());
+        assertEquals(expected.getFire(), actual.getFire());
+        assertArrayEquals(a.coordinateArray(), b.coordinateArray());
+        assertArrayEquals(a.neighbors().offsetArray(), b.neighbors().offsetArray());
+        assertArrayEquals(a.neighbors().targetArray(), b.neighbors().targetArray());
+    }
+}
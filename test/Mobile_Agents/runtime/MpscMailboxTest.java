@@ -0,0 +1,124 @@
+package Mobile_Agents.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class: MpscMailboxTest
+ * Description: Messages of concurrent producers all arrive once, in the order
+ *              each producer offered them, whichever way they are taken out.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+class MpscMailboxTest {
+    private static final int PRODUCERS = 4;
+    private static final int MESSAGES = 200_000;
+
+    @Test
+    void emptyMailbox() {
+        MpscMailbox<Integer> mailbox = new MpscMailbox<>();
+        assertTrue(mailbox.isEmpty());
+        assertEquals(0, mailbox.size());
+        assertNull(mailbox.poll());
+        for (int k = 0; k < 40; k++) {
+            mailbox.offer(k);
+        }
+        assertFalse(mailbox.isEmpty());
+        assertEquals(40, mailbox.size());
+        List<Integer> batch = new ArrayList<>();
+        assertEquals(16, mailbox.drainTo(batch, 16));
+        assertEquals(24, mailbox.size());
+        assertEquals(24, mailbox.drainTo(batch, 100));
+        assertEquals(0, mailbox.size());
+        for (int k = 0; k < 40; k++) {
+            assertEquals(k, batch.get(k));
+        }
+        assertTrue(mailbox.isEmpty());
+        assertNull(mailbox.poll());
+        assertThrows(NullPointerException.class, () -> mailbox.offer(null));
+    }
+
+    @Test
+    void concurrentProducersWithPoll() throws InterruptedException {
+        MpscMailbox<long[]> mailbox = new MpscMailbox<>();
+        startProducers(mailbox);
+        long[] last = new long[PRODUCERS];
+        Arrays.fill(last, -1);
+        for (long received = 0; received < (long) PRODUCERS * MESSAGES; ) {
+            long[] message = mailbox.poll();
+            if (message == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            check(last, message);
+            received++;
+        }
+        assertNull(mailbox.poll());
+    }
+
+    @Test
+    void concurrentProducersWithTakeAndDrain() throws InterruptedException {
+        MpscMailbox<long[]> mailbox = new MpscMailbox<>();
+        startProducers(mailbox);
+        long[] last = new long[PRODUCERS];
+        Arrays.fill(last, -1);
+        List<long[]> batch = new ArrayList<>();
+        long received = 0;
+        while (received < (long) PRODUCERS * MESSAGES) {
+            check(last, mailbox.take());
+            received++;
+            batch.clear();
+            received += mailbox.drainTo(batch, 64);
+            for (long[] message : batch) {
+                check(last, message);
+            }
+        }
+        assertTrue(mailbox.isEmpty());
+    }
+
+    @Test
+    void takeWakesUpOnOffer() throws InterruptedException {
+        MpscMailbox<String> mailbox = new MpscMailbox<>();
+        CountDownLatch taken = new CountDownLatch(1);
+        Thread consumer = new Thread(() -> {
+            try {
+                if ("wake".equals(mailbox.take())) {
+                    taken.countDown();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        Thread.sleep(50);
+        mailbox.offer("wake");
+        assertTrue(taken.await(10, TimeUnit.SECONDS));
+        consumer.join();
+    }
+
+    //Every producer sends its id and a sequence number.
+    private static void startProducers(MpscMailbox<long[]> mailbox) {
+        for (int p = 0; p < PRODUCERS; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                for (long k = 0; k < MESSAGES; k++) {
+                    mailbox.offer(new long[]{producer, k});
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private static void check(long[] last, long[] message) {
+        int producer = (int) message[0];
+        assertEquals(last[producer] + 1, message[1], "producer " + producer);
+        last[producer] = message[1];
+    }
+}
@@ -0,0 +1,34 @@
+package Mobile_Agents.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class: ShardedActorExecutorTest
+ * Description: A failing actor is reported and does not stop its shard.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+class ShardedActorExecutorTest {
+    @Test
+    void workerSurvivesAnActorThrowingAnError() throws InterruptedException {
+        ShardedActorExecutor executor = new ShardedActorExecutor(new int[0], 1);
+        try {
+            CountDownLatch ran = new CountDownLatch(2);
+            executor.execute(() -> {
+                ran.countDown();
+                throw new AssertionError("failing actor");
+            });
+            executor.execute(() -> {
+                throw new IllegalStateException("failing actor");
+            });
+            executor.execute(ran::countDown);
+            assertTrue(ran.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
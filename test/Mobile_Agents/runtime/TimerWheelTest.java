@@ -0,0 +1,71 @@
+package Mobile_Agents.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class: TimerWheelTest
+ * Description: Timeouts spanning several rounds of a small wheel fire in the
+ *              order of their deadlines and never early.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+class TimerWheelTest {
+    @Test
+    void firesInDeadlineOrderAcrossRounds() throws InterruptedException {
+        long[] delays = {45, 3, 17, 0, 9, 31, 8, 24, 16, 60};
+        List<Long> fired = Collections.synchronizedList(new ArrayList<>());
+        long[] lateness = new long[delays.length];
+        CountDownLatch done = new CountDownLatch(delays.length);
+        TimerWheel wheel = new TimerWheel(1, 8, Runnable::run);
+        try {
+            long start = System.nanoTime();
+            for (int k = 0; k < delays.length; k++) {
+                int index = k;
+                long delay = delays[k];
+                wheel.schedule(() -> {
+                    lateness[index] = System.nanoTime() - start - TimeUnit.MILLISECONDS.toNanos(delay);
+                    fired.add(delay);
+                    done.countDown();
+                }, delay, TimeUnit.MILLISECONDS);
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            wheel.shutdown();
+        }
+        List<Long> expected = new ArrayList<>();
+        for (long delay : delays) {
+            expected.add(delay);
+        }
+        Collections.sort(expected);
+        assertEquals(expected, fired);
+        for (int k = 0; k < delays.length; k++) {
+            assertTrue(lateness[k] >= 0, "delay " + delays[k] + " fired early");
+        }
+    }
+
+    @Test
+    void tasksScheduledWhileRunningStillFire() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(20);
+        TimerWheel wheel = new TimerWheel(1, 4, Runnable::run);
+        try {
+            Runnable[] chain = new Runnable[1];
+            chain[0] = () -> {
+                done.countDown();
+                if (done.getCount() > 0) {
+                    wheel.schedule(chain[0], done.getCount() % 7, TimeUnit.MILLISECONDS);
+                }
+            };
+            wheel.schedule(chain[0], 5, TimeUnit.MILLISECONDS);
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            wheel.shutdown();
+        }
+    }
+}
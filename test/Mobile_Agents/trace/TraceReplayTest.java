@@ -0,0 +1,102 @@
+package Mobile_Agents.trace;
+
+import Mobile_Agents.SensorNetwork;
+import Mobile_Agents.SensorNode;
+import Mobile_Agents.event.EventBus;
+import Mobile_Agents.event.MessageDelivered;
+import Mobile_Agents.event.NodeStatusChanged;
+import Mobile_Agents.reader.ConfigReader;
+import Mobile_Agents.runtime.ActorExecutor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class: TraceReplayTest
+ * Description: Records a run on a wall clock executor and replays it, the way
+ *              the GUI does, deliveries to agents included.
+ * @Contributers Miguel Gonzalez, Tanner Randall Hunt
+ */
+class TraceReplayTest {
+    private static final long RUN_MILLIS = 4_000;
+    private static final long REPLAY_TIMEOUT_MILLIS = 10_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysPooledRunFromItsFirstRecord() throws Exception {
+        Path file = directory.resolve("sample.trace");
+        long before = System.currentTimeMillis();
+        record(file);
+        TraceReader reader = new TraceReader(file);
+
+        assertTrue(reader.size() > 0);
+        assertTrue(reader.getOriginMillis() >= before);
+        Map<Integer, SensorNode.Status> recorded = new HashMap<>();
+        long agentDeliveries = 0;
+        for (long record = 0; record < reader.size(); record++) {
+            assertTrue(reader.time(record) >= 0 && reader.time(record) < 60_000,
+                    "time " + reader.time(record) + " of record " + record);
+            if (reader.isStatus(record)) {
+                recorded.put(reader.node(record), reader.status(record));
+            } else if (reader.isAgentDelivery(record)) {
+                agentDeliveries++;
+            }
+        }
+
+        //The neighbors of the origin catch fire 2 to 3 seconds in, killing
+        //the agents fortified on them.
+        assertTrue(agentDeliveries > 0);
+        AtomicLong replayedAgentDeliveries = new AtomicLong();
+        assertEquals(recorded, replay(reader, 0, replayedAgentDeliveries));
+        assertEquals(agentDeliveries, replayedAgentDeliveries.get());
+        assertEquals(recorded, replay(reader, reader.time(reader.size() / 2), new AtomicLong()));
+    }
+
+    private static void record(Path file) throws InterruptedException {
+        ConfigReader configReader = new ConfigReader("graphs/sample.txt");
+        SensorNetwork network = configReader.getNetwork();
+        TraceRecorder recorder = new TraceRecorder(file);
+        network.setTraceRecorder(recorder);
+        ActorExecutor executor = ActorExecutor.workStealing(4);
+        for (int id = 0; id < network.size(); id++) {
+            network.node(id).start(executor);
+        }
+        configReader.ignite();
+        configReader.dispatch();
+        Thread.sleep(RUN_MILLIS);
+        executor.shutdown();
+        recorder.close();
+    }
+
+    //Replays at real speed, counts the deliveries to agents and returns the
+    //last status seen for every node.
+    private static Map<Integer, SensorNode.Status> replay(TraceReader reader, long fromMillis,
+                                                          AtomicLong agentDeliveries)
+            throws InterruptedException {
+        EventBus events = new EventBus();
+        Map<Integer, SensorNode.Status> replayed = new ConcurrentHashMap<>();
+        events.subscribe(NodeStatusChanged.class,
+                event -> replayed.put(event.getNodeId(), event.getStatus()));
+        events.subscribe(MessageDelivered.class, event -> {
+            if (event.isToAgent()) {
+                agentDeliveries.incrementAndGet();
+            }
+        });
+        Thread thread = new Thread(new TraceReplayer(reader, events, fromMillis, 1));
+        thread.start();
+        thread.join(REPLAY_TIMEOUT_MILLIS);
+        boolean finished = !thread.isAlive();
+        thread.interrupt();
+        assertTrue(finished, "replay from " + fromMillis + " did not finish");
+        return replayed;
+    }
+}